@@ -12,11 +12,29 @@ repositories {
     mavenCentral()
 }
 
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
 dependencies {
     implementation(libs.guava)
     compileOnly(libs.spring.boot.web)
-    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    compileOnly(libs.spring.boot.actuator)
+    annotationProcessor(libs.spring.boot.configuration.processor)
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation(libs.spring.boot.web)
+    testImplementation(libs.spring.boot.test)
+    testImplementation(libs.spring.boot.actuator)
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmh.implementationConfigurationName(platform(libs.spring.boot.dependencies))
+    jmh.implementationConfigurationName(libs.spring.boot.web)
+    jmh.implementationConfigurationName("org.springframework:spring-test")
+    jmh.implementationConfigurationName(libs.jmh.core)
+    jmh.annotationProcessorConfigurationName(libs.jmh.generator)
 }
 
 java {
@@ -48,7 +66,52 @@ tasks.jar {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("allocation")
+    }
+}
+
+val allocationTest by tasks.registering(Test::class) {
+    description = "Runs the allocation regression tests, e.g. ./gradlew allocationTest -PallocationBudgetTolerance=2"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("allocation")
+    }
+    // widens the allocation budgets on noisy machines
+    findProperty("allocationBudgetTolerance")?.let { systemProperty("allocation.budget.tolerance", it) }
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(allocationTest)
+}
+
+tasks.compileTestJava {
+    // parameter names drive the naming conversion under test
+    options.compilerArgs.add("-parameters")
+}
+
+tasks.named<JavaCompile>(jmh.compileJavaTaskName) {
+    options.compilerArgs.add("-parameters")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks, e.g. ./gradlew jmh --args='1,8,32'"
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.flmelody.spring.web.benchmark.WebParamMethodArgumentResolverBenchmark")
+}
+
+tasks.register<JavaExec>("jmhVirtual") {
+    description = "Runs the JMH benchmarks on virtual threads, which requires a JDK 21 toolchain"
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.flmelody.spring.web.benchmark.WebParamMethodArgumentResolverBenchmark")
+    javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    // the forked benchmark VMs inherit it and run every benchmark thread as a virtual thread
+    systemProperty("jmh.executor", "VIRTUAL")
 }
 
 publishing {
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.benchmark;
+
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.resolver.WebParamMethodArgumentResolver;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link WebParamMethodArgumentResolver#resolveArgument} throughput scales with the
+ * number of request threads sharing one resolver.
+ *
+ * @author esotericman
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebParamMethodArgumentResolverBenchmark {
+  private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+  private WebParamMethodArgumentResolver resolver;
+  private MethodParameter snakeCaseParameter;
+  private MethodParameter missingParameter;
+
+  @Setup
+  public void setup() throws Exception {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("snakeNamingStrategyHandler", new SnakeNamingStrategyHandler());
+    resolver = new WebParamMethodArgumentResolver(NamingStrategy.SNAKE_CASE, beanFactory, true);
+    resolver.afterPropertiesSet();
+    snakeCaseParameter = handlerParameter(0);
+    missingParameter = handlerParameter(1);
+  }
+
+  @Benchmark
+  public Object snakeCase(RequestState state) throws Exception {
+    return resolver.resolveArgument(snakeCaseParameter, null, state.request, null);
+  }
+
+  @Benchmark
+  public Object missing(RequestState state) throws Exception {
+    return resolver.resolveArgument(missingParameter, null, state.request, null);
+  }
+
+  private static MethodParameter handlerParameter(int index) throws NoSuchMethodException {
+    MethodParameter parameter =
+        new MethodParameter(
+            Handler.class.getMethod("handle", String.class, Integer.class), index);
+    parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+    return parameter;
+  }
+
+  /**
+   * Runs the benchmarks once per thread count, on virtual threads when started with {@code
+   * -Djmh.executor=VIRTUAL} on JDK 21 or later as the {@code jmhVirtual} task does.
+   *
+   * @param args comma separated thread counts, defaults to 1 up to 64
+   * @throws RunnerException if a benchmark fails
+   */
+  public static void main(String[] args) throws RunnerException {
+    int[] threads =
+        args.length == 0
+            ? DEFAULT_THREADS
+            : Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray();
+    for (int thread : threads) {
+      new Runner(
+              new OptionsBuilder()
+                  .include(WebParamMethodArgumentResolverBenchmark.class.getName())
+                  .threads(thread)
+                  .build())
+          .run();
+    }
+  }
+
+  /** Every thread gets its own request, just like the servlet container does. */
+  @State(Scope.Thread)
+  public static class RequestState {
+    private NativeWebRequest request;
+
+    @Setup
+    public void setup() {
+      MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+      servletRequest.addParameter("user_name", "esotericman");
+      request = new ServletWebRequest(servletRequest);
+    }
+  }
+
+  public static class Handler {
+    public void handle(@WebParam String userName, @WebParam(required = false) Integer pageSize) {}
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.actuate;
+
+import org.flmelody.spring.web.function.WebParams;
+import org.flmelody.spring.web.function.WebParamsFactory;
+import org.flmelody.spring.web.resolver.WebParamBinding;
+import org.flmelody.spring.web.resolver.WebParamMethodArgumentResolver;
+import org.flmelody.spring.web.resolver.WebResolverStatistics;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.NamingStrategyHandler;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the binding of every handler parameter resolved by a {@link
+ * WebParamMethodArgumentResolver}, together with the runtime statistics of the resolvers and the
+ * name caches of the {@link WebParams} created by a {@link WebParamsFactory} and still in use.
+ *
+ * @author esotericman
+ */
+@Endpoint(id = "webresolver")
+public class WebResolverEndpoint {
+  private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER =
+      new DefaultParameterNameDiscoverer();
+
+  private final ListableBeanFactory beanFactory;
+
+  public WebResolverEndpoint(ListableBeanFactory beanFactory) {
+    this.beanFactory = beanFactory;
+  }
+
+  @ReadOperation
+  public WebResolverDescriptor webResolver() {
+    Map<String, WebParamMethodArgumentResolver> resolvers =
+        beanFactory.getBeansOfType(WebParamMethodArgumentResolver.class);
+    List<ResolverDescriptor> resolverDescriptors = new ArrayList<>(resolvers.size());
+    resolvers.forEach(
+        (beanName, resolver) ->
+            resolverDescriptors.add(
+                new ResolverDescriptor(
+                    beanName,
+                    resolver.getNamingStrategy(),
+                    resolver.getNamingStrategyHandlers().stream()
+                        .map(NamingStrategyHandler::getClass)
+                        .map(Class::getName)
+                        .toList(),
+                    resolver.getStatistics())));
+    List<HandlerDescriptor> handlerDescriptors = new ArrayList<>();
+    for (RequestMappingHandlerMapping handlerMapping :
+        beanFactory.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+      for (HandlerMethod handlerMethod : handlerMapping.getHandlerMethods().values()) {
+        List<ParameterDescriptor> parameters =
+            describeParameters(handlerMethod, resolvers.values());
+        if (!parameters.isEmpty()) {
+          handlerDescriptors.add(
+              new HandlerDescriptor(handlerMethod.toString(), parameters));
+        }
+      }
+    }
+    List<WebParamsDescriptor> webParamsDescriptors = new ArrayList<>();
+    beanFactory
+        .getBeansOfType(WebParamsFactory.class)
+        .forEach(
+            (beanName, webParamsFactory) -> {
+              for (WebParams webParams : webParamsFactory.getWebParams()) {
+                webParamsDescriptors.add(
+                    new WebParamsDescriptor(
+                        beanName,
+                        webParams.getNamingStrategy(),
+                        webParams.getCacheLimit(),
+                        webParams.getCacheSize(),
+                        webParams.getCacheHits(),
+                        webParams.getCacheMisses(),
+                        webParams.getCacheHitRatio()));
+              }
+            });
+    return new WebResolverDescriptor(
+        resolverDescriptors, handlerDescriptors, webParamsDescriptors);
+  }
+
+  private List<ParameterDescriptor> describeParameters(
+      HandlerMethod handlerMethod, Collection<WebParamMethodArgumentResolver> resolvers) {
+    List<ParameterDescriptor> parameters = new ArrayList<>();
+    for (MethodParameter methodParameter : handlerMethod.getMethodParameters()) {
+      // do not touch the parameter shared with the request processing
+      MethodParameter parameter = methodParameter.clone();
+      parameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+      WebParamMethodArgumentResolver resolver = findResolver(parameter, resolvers);
+      if (resolver != null) {
+        parameters.add(
+            new ParameterDescriptor(
+                parameter.getParameterIndex(),
+                parameter.getNestedParameterType().getName(),
+                resolver.describeParameter(parameter)));
+      }
+    }
+    return parameters;
+  }
+
+  @Nullable
+  private WebParamMethodArgumentResolver findResolver(
+      MethodParameter parameter, Collection<WebParamMethodArgumentResolver> resolvers) {
+    for (WebParamMethodArgumentResolver resolver : resolvers) {
+      if (resolver.supportsParameter(parameter)) {
+        return resolver;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Description of the resolvers and the handler parameters they bind.
+   *
+   * @param resolvers resolvers
+   * @param handlers handlers having parameters bound by the resolvers
+   * @param webParams parameters accessors of functional endpoints
+   */
+  public record WebResolverDescriptor(
+      List<ResolverDescriptor> resolvers,
+      List<HandlerDescriptor> handlers,
+      List<WebParamsDescriptor> webParams) {}
+
+  /**
+   * Description of a resolver.
+   *
+   * @param beanName bean name of the resolver
+   * @param namingStrategy global naming strategy
+   * @param namingStrategyHandlers naming strategy handlers in use
+   * @param statistics runtime statistics
+   */
+  public record ResolverDescriptor(
+      String beanName,
+      @Nullable NamingStrategy namingStrategy,
+      List<String> namingStrategyHandlers,
+      WebResolverStatistics statistics) {}
+
+  /**
+   * Description of a handler method.
+   *
+   * @param handler handler method
+   * @param parameters parameters bound by the resolvers
+   */
+  public record HandlerDescriptor(String handler, List<ParameterDescriptor> parameters) {}
+
+  /**
+   * Description of a handler parameter.
+   *
+   * @param index index of the parameter
+   * @param type type of the parameter
+   * @param binding binding of the parameter
+   */
+  public record ParameterDescriptor(int index, String type, WebParamBinding binding) {}
+
+  /**
+   * Description of a parameters accessor and its name cache.
+   *
+   * @param factoryBeanName bean name of the factory creating the accessor
+   * @param namingStrategy naming strategy
+   * @param cacheLimit maximum number of cached names
+   * @param cacheSize number of cached names
+   * @param cacheHits names served from the cache
+   * @param cacheMisses names converted since they were not cached
+   * @param cacheHitRatio ratio of names served from the cache
+   */
+  public record WebParamsDescriptor(
+      String factoryBeanName,
+      NamingStrategy namingStrategy,
+      int cacheLimit,
+      int cacheSize,
+      long cacheHits,
+      long cacheMisses,
+      double cacheHitRatio) {}
+}
@@ -34,11 +34,13 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 @Inherited
-@Import({WebConfiguration.class, WebConfiguration.WebConfigurationRegistrar.class})
+@Import(WebConfiguration.class)
 public @interface EnableWebResolver {
 
   /**
-   * The naming strategy of request parameter name globally.
+   * The naming strategy of request parameter name globally, applies when neither the parameter nor
+   * its controller type or package declares one with {@link WebParam}. The {@code
+   * flmelody.web-resolver.param-naming-strategy} property takes precedence over it.
    *
    * @return naming strategy
    */
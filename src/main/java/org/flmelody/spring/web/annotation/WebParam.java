@@ -30,9 +30,21 @@ import java.lang.annotation.Target;
 /**
  * Similar to @{@link RequestParam}, but with the additional parameter naming transformation.
  *
+ * <p>Besides method parameters, the annotation may be declared on a controller type or in a {@code
+ * package-info.java}, in which case only {@link #namingStrategy} is taken into account and serves
+ * as the default for every {@code @WebParam} parameter underneath. The effective strategy is
+ * determined in the following order, the first one that is not {@link NamingStrategy#NONE} wins:
+ *
+ * <ol>
+ *   <li>{@code @WebParam} on the method parameter
+ *   <li>{@code @WebParam} on the controller type, including its super types
+ *   <li>{@code @WebParam} on the package of the controller type
+ *   <li>{@link EnableWebResolver#paramNamingStrategy()}
+ * </ol>
+ *
  * @author esotericman
  */
-@Target({ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Target({ElementType.PARAMETER, ElementType.TYPE, ElementType.PACKAGE})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface WebParam {
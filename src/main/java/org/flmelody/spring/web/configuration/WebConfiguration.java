@@ -16,35 +16,45 @@
 
 package org.flmelody.spring.web.configuration;
 
+import org.flmelody.spring.web.actuate.WebResolverEndpoint;
 import org.flmelody.spring.web.annotation.EnableWebResolver;
+import org.flmelody.spring.web.function.WebParamsFactory;
 import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.NamingStrategyHandler;
 import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
 import org.flmelody.spring.web.resolver.WebMethodArgumentResolver;
+import org.flmelody.spring.web.resolver.WebMethodArgumentResolverComposite;
 import org.flmelody.spring.web.resolver.WebParamMethodArgumentResolver;
+import org.flmelody.spring.web.resolver.WebPartStreamMethodArgumentResolver;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
-import org.springframework.beans.factory.support.BeanDefinitionRegistry;
-import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
-import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.lang.NonNull;
-import org.springframework.util.ObjectUtils;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
 
 /**
  * @author esotericman
  */
 @Configuration
+@EnableConfigurationProperties(WebResolverProperties.class)
 public class WebConfiguration implements WebMvcConfigurer, BeanFactoryAware {
   private ConfigurableListableBeanFactory beanFactory;
 
@@ -61,59 +71,121 @@ public class WebConfiguration implements WebMvcConfigurer, BeanFactoryAware {
     return new SnakeNamingStrategyHandler();
   }
 
+  @Bean
+  @ConditionalOnMissingBean(
+      value = WebParamMethodArgumentResolver.class,
+      ignored = WebPartStreamMethodArgumentResolver.class)
+  public WebParamMethodArgumentResolver webParamMethodArgumentResolver(
+      WebResolverProperties properties) {
+    WebParamMethodArgumentResolver resolver =
+        new WebParamMethodArgumentResolver(
+            determineNamingStrategy(properties),
+            this.beanFactory,
+            properties.isUseDefaultResolution());
+    resolver.setLenient(properties.isLenient());
+    resolver.setStatisticsEnabled(properties.getMetrics().isEnabled());
+    return resolver;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean(value = WebPartStreamMethodArgumentResolver.class)
+  public WebPartStreamMethodArgumentResolver webPartStreamMethodArgumentResolver(
+      WebResolverProperties properties) {
+    WebPartStreamMethodArgumentResolver resolver =
+        new WebPartStreamMethodArgumentResolver(
+            determineNamingStrategy(properties), this.beanFactory);
+    resolver.setLenient(properties.isLenient());
+    resolver.setStatisticsEnabled(properties.getMetrics().isEnabled());
+    WebResolverProperties.Multipart multipart = properties.getMultipart();
+    if (multipart.getMaxPartSize() != null) {
+      resolver.setMaxPartSize(multipart.getMaxPartSize().toBytes());
+    }
+    resolver.setMaxHeaderSize(Math.toIntExact(multipart.getMaxHeaderSize().toBytes()));
+    return resolver;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean(value = WebParamsFactory.class)
+  public WebParamsFactory webParamsFactory(
+      ObjectProvider<NamingStrategyHandler> namingStrategyHandlers,
+      WebResolverProperties properties) {
+    WebParamsFactory webParamsFactory =
+        new WebParamsFactory(
+            namingStrategyHandlers.orderedStream().toList(), properties.getCache().getMaxNames());
+    webParamsFactory.setStatisticsEnabled(properties.getMetrics().isEnabled());
+    return webParamsFactory;
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      prefix = WebResolverProperties.PREFIX,
+      name = "precompute-binding-plans",
+      havingValue = "true")
+  public SmartInitializingSingleton webResolverBindingPlanInitializer() {
+    return () -> {
+      List<HandlerMethod> handlerMethods =
+          beanFactory.getBeansOfType(RequestMappingHandlerMapping.class).values().stream()
+              .flatMap(handlerMapping -> handlerMapping.getHandlerMethods().values().stream())
+              .toList();
+      beanFactory
+          .getBeansOfType(WebParamMethodArgumentResolver.class)
+          .values()
+          .forEach(resolver -> resolver.precomputeBindingPlans(handlerMethods));
+    };
+  }
+
   @Override
   public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
     if (this.beanFactory == null) {
       return;
     }
-    resolvers.addAll(beanFactory.getBeansOfType(WebMethodArgumentResolver.class).values());
+    resolvers.add(
+        new WebMethodArgumentResolverComposite(
+            beanFactory.getBeanProvider(WebMethodArgumentResolver.class)));
   }
 
-  public static class WebConfigurationRegistrar
-      implements ImportBeanDefinitionRegistrar, BeanFactoryAware {
-
-    private ConfigurableListableBeanFactory beanFactory;
-
-    @Override
-    public void setBeanFactory(@NonNull BeanFactory beanFactory) throws BeansException {
-      if (beanFactory instanceof ConfigurableListableBeanFactory) {
-        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
-      }
+  /**
+   * The configured naming strategy wins over the one of {@link EnableWebResolver}, which is looked
+   * up on the beans rather than the importing class, since the configuration may also be imported
+   * by {@link WebResolverAutoConfiguration}. Several {@link EnableWebResolver} have to agree on the
+   * naming strategy, otherwise it must be configured.
+   */
+  private NamingStrategy determineNamingStrategy(WebResolverProperties properties) {
+    if (properties.getParamNamingStrategy() != null) {
+      return properties.getParamNamingStrategy();
     }
-
-    @Override
-    public void registerBeanDefinitions(
-        @NonNull AnnotationMetadata importingClassMetadata,
-        @NonNull BeanDefinitionRegistry registry) {
-      if (this.beanFactory == null) {
-        return;
+    Map<NamingStrategy, List<String>> declaringBeans = new EnumMap<>(NamingStrategy.class);
+    for (String beanName : this.beanFactory.getBeanNamesForAnnotation(EnableWebResolver.class)) {
+      EnableWebResolver enableWebResolver =
+          this.beanFactory.findAnnotationOnBean(beanName, EnableWebResolver.class);
+      if (enableWebResolver != null) {
+        declaringBeans
+            .computeIfAbsent(enableWebResolver.paramNamingStrategy(), key -> new ArrayList<>())
+            .add(beanName);
       }
-      Map<String, Object> annotationAttributes =
-          importingClassMetadata.getAnnotationAttributes(EnableWebResolver.class.getName());
-      if (annotationAttributes == null) {
-        return;
-      }
-      NamingStrategy namingStrategy =
-          NamingStrategy.valueOf(String.valueOf(annotationAttributes.get("paramNamingStrategy")));
-      registerSyntheticBeanIfMissing(
-          registry,
-          "webParamMethodArgumentResolver",
-          WebParamMethodArgumentResolver.class,
-          () ->
-              new WebParamMethodArgumentResolver(
-                  namingStrategy, WebConfigurationRegistrar.this.beanFactory, true));
     }
+    if (declaringBeans.size() > 1) {
+      throw new IllegalStateException(
+          "Conflicting naming strategies declared by @EnableWebResolver "
+              + declaringBeans
+              + ", declare the same one everywhere or set "
+              + WebResolverProperties.PREFIX
+              + ".param-naming-strategy");
+    }
+    return declaringBeans.isEmpty()
+        ? NamingStrategy.LOWER_CAMEL_CASE
+        : declaringBeans.keySet().iterator().next();
+  }
 
-    private <T> void registerSyntheticBeanIfMissing(
-        BeanDefinitionRegistry registry,
-        @NonNull String name,
-        @NonNull Class<T> beanClass,
-        Supplier<T> instanceSupplier) {
-      if (ObjectUtils.isEmpty(this.beanFactory.getBeanNamesForType(beanClass, true, false))) {
-        RootBeanDefinition beanDefinition = new RootBeanDefinition(beanClass, instanceSupplier);
-        beanDefinition.setSynthetic(true);
-        registry.registerBeanDefinition(name, beanDefinition);
-      }
+  /** Registers the {@code webresolver} endpoint when Spring Boot Actuator is present. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+  public static class WebResolverEndpointConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(value = WebResolverEndpoint.class)
+    public WebResolverEndpoint webResolverEndpoint(ListableBeanFactory beanFactory) {
+      return new WebResolverEndpoint(beanFactory);
     }
   }
 }
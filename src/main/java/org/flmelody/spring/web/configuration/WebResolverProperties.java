@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.configuration;
+
+import org.flmelody.spring.web.annotation.EnableWebResolver;
+import org.flmelody.spring.web.function.WebParams;
+import org.flmelody.spring.web.multipart.MultipartStream;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties of the resolvers.
+ *
+ * @author esotericman
+ */
+@ConfigurationProperties(prefix = WebResolverProperties.PREFIX)
+public class WebResolverProperties {
+  public static final String PREFIX = "flmelody.web-resolver";
+
+  /**
+   * Whether to enable the resolvers without {@link EnableWebResolver}.
+   */
+  private boolean enabled = false;
+
+  /**
+   * The naming strategy of request parameter name globally, takes precedence over {@link
+   * EnableWebResolver#paramNamingStrategy()}. Required when several {@link EnableWebResolver}
+   * declare different naming strategies.
+   */
+  private NamingStrategy paramNamingStrategy;
+
+  /**
+   * Whether simple type arguments are treated as request parameters even if not annotated.
+   */
+  private boolean useDefaultResolution = true;
+
+  /**
+   * Whether to fall back to the original name when no naming strategy handler supports the
+   * strategy, otherwise binding the parameter fails. Lower camel case never requires a handler.
+   */
+  private boolean lenient = true;
+
+  /**
+   * Whether to build the binding plans of all handler parameters at startup instead of on first
+   * use, this also reports misconfigured parameters at startup.
+   */
+  private boolean precomputeBindingPlans = false;
+
+  private final Cache cache = new Cache();
+
+  private final Metrics metrics = new Metrics();
+
+  private final Multipart multipart = new Multipart();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public NamingStrategy getParamNamingStrategy() {
+    return paramNamingStrategy;
+  }
+
+  public void setParamNamingStrategy(NamingStrategy paramNamingStrategy) {
+    this.paramNamingStrategy = paramNamingStrategy;
+  }
+
+  public boolean isUseDefaultResolution() {
+    return useDefaultResolution;
+  }
+
+  public void setUseDefaultResolution(boolean useDefaultResolution) {
+    this.useDefaultResolution = useDefaultResolution;
+  }
+
+  public boolean isLenient() {
+    return lenient;
+  }
+
+  public void setLenient(boolean lenient) {
+    this.lenient = lenient;
+  }
+
+  public boolean isPrecomputeBindingPlans() {
+    return precomputeBindingPlans;
+  }
+
+  public void setPrecomputeBindingPlans(boolean precomputeBindingPlans) {
+    this.precomputeBindingPlans = precomputeBindingPlans;
+  }
+
+  public Cache getCache() {
+    return cache;
+  }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  public Multipart getMultipart() {
+    return multipart;
+  }
+
+  public static class Cache {
+
+    /**
+     * Maximum number of converted names cached by each {@link WebParams} of functional endpoints.
+     * Annotated handler parameters are not affected, their converted names are kept along with the
+     * rest of the parameter metadata.
+     */
+    private int maxNames = WebParams.DEFAULT_CACHE_LIMIT;
+
+    public int getMaxNames() {
+      return maxNames;
+    }
+
+    public void setMaxNames(int maxNames) {
+      this.maxNames = maxNames;
+    }
+  }
+
+  public static class Metrics {
+
+    /**
+     * Whether to record the resolution and name cache statistics. This switches recording on or off
+     * as a whole, every event is counted while enabled, there is no sampling.
+     */
+    private boolean enabled = true;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+  }
+
+  public static class Multipart {
+
+    /**
+     * Maximum size of a single streamed part, unlimited if not set.
+     */
+    private DataSize maxPartSize;
+
+    /**
+     * Maximum size of the headers of a single streamed part.
+     */
+    private DataSize maxHeaderSize = DataSize.ofBytes(MultipartStream.DEFAULT_MAX_HEADER_SIZE);
+
+    public DataSize getMaxPartSize() {
+      return maxPartSize;
+    }
+
+    public void setMaxPartSize(DataSize maxPartSize) {
+      this.maxPartSize = maxPartSize;
+    }
+
+    public DataSize getMaxHeaderSize() {
+      return maxHeaderSize;
+    }
+
+    public void setMaxHeaderSize(DataSize maxHeaderSize) {
+      this.maxHeaderSize = maxHeaderSize;
+    }
+  }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.function;
+
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.NamingStrategyHandler;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Typed access to the parameters of a functional endpoint {@link ServerRequest}, applying a naming
+ * strategy to the requested names, e.g.
+ *
+ * <pre class="code">
+ * WebParams params = WebParams.of(NamingStrategy.SNAKE_CASE);
+ * RouterFunction&lt;ServerResponse&gt; route =
+ *     route()
+ *         .GET("/users", request -&gt; ok().body(userService.page(params.getInt(request, "pageSize", 10))))
+ *         .build();
+ * </pre>
+ *
+ * <p>Instances are thread-safe and meant to be created once per route rather than per request,
+ * converted names are cached so that the naming strategy is applied only once per name.
+ *
+ * @author esotericman
+ */
+public final class WebParams {
+  private static final Logger logger = LoggerFactory.getLogger(WebParams.class);
+
+  /** Maximum number of converted names cached by default. */
+  public static final int DEFAULT_CACHE_LIMIT = 256;
+
+  private final NamingStrategy namingStrategy;
+  private final Function<String, String> converter;
+  private final int cacheLimit;
+  private final boolean statisticsEnabled;
+  private final Map<String, String> names = new ConcurrentHashMap<>();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+
+  private WebParams(
+      NamingStrategy namingStrategy,
+      Function<String, String> converter,
+      int cacheLimit,
+      boolean statisticsEnabled) {
+    this.namingStrategy = namingStrategy;
+    this.converter = converter;
+    this.cacheLimit = cacheLimit;
+    this.statisticsEnabled = statisticsEnabled;
+  }
+
+  /**
+   * Create parameters accessor with the built-in naming strategy handlers.
+   *
+   * @param namingStrategy naming strategy of request parameter name
+   * @return parameters accessor
+   */
+  public static WebParams of(NamingStrategy namingStrategy) {
+    return of(namingStrategy, List.of(new SnakeNamingStrategyHandler()));
+  }
+
+  /**
+   * Create parameters accessor with the given naming strategy handlers.
+   *
+   * @param namingStrategy naming strategy of request parameter name
+   * @param namingStrategyHandlers candidate handlers, the first one supporting the strategy is used
+   * @return parameters accessor
+   */
+  public static WebParams of(
+      NamingStrategy namingStrategy,
+      Collection<? extends NamingStrategyHandler> namingStrategyHandlers) {
+    return of(namingStrategy, namingStrategyHandlers, DEFAULT_CACHE_LIMIT);
+  }
+
+  /**
+   * Create parameters accessor with the given naming strategy handlers.
+   *
+   * @param namingStrategy naming strategy of request parameter name
+   * @param namingStrategyHandlers candidate handlers, the first one supporting the strategy is used
+   * @param cacheLimit maximum number of converted names to cache
+   * @return parameters accessor
+   */
+  public static WebParams of(
+      NamingStrategy namingStrategy,
+      Collection<? extends NamingStrategyHandler> namingStrategyHandlers,
+      int cacheLimit) {
+    return of(namingStrategy, namingStrategyHandlers, cacheLimit, true);
+  }
+
+  static WebParams of(
+      NamingStrategy namingStrategy,
+      Collection<? extends NamingStrategyHandler> namingStrategyHandlers,
+      int cacheLimit,
+      boolean statisticsEnabled) {
+    if (namingStrategy == null || NamingStrategy.NONE.equals(namingStrategy)) {
+      return new WebParams(
+          NamingStrategy.NONE, Function.identity(), cacheLimit, statisticsEnabled);
+    }
+    for (NamingStrategyHandler namingStrategyHandler : namingStrategyHandlers) {
+      if (namingStrategyHandler.supportNamingStrategy(namingStrategy)) {
+        return new WebParams(
+            namingStrategy,
+            namingStrategyHandler::convertNamingConvention,
+            cacheLimit,
+            statisticsEnabled);
+      }
+    }
+    // names are expected in lower camel case, hence it does not need any converter
+    if (!NamingStrategy.LOWER_CAMEL_CASE.equals(namingStrategy)) {
+      logger.warn("No suitable naming converter was found, the default value will be used");
+    }
+    return new WebParams(namingStrategy, Function.identity(), cacheLimit, statisticsEnabled);
+  }
+
+  /**
+   * The naming strategy of request parameter name.
+   *
+   * @return naming strategy
+   */
+  public NamingStrategy getNamingStrategy() {
+    return namingStrategy;
+  }
+
+  /**
+   * Convert the given name to the name of the request parameter.
+   *
+   * @param name name
+   * @return name of the request parameter
+   */
+  public String name(String name) {
+    String converted = names.get(name);
+    if (converted != null) {
+      if (statisticsEnabled) {
+        cacheHits.increment();
+      }
+    } else {
+      if (statisticsEnabled) {
+        cacheMisses.increment();
+      }
+      converted = converter.apply(name);
+      if (converted == null) {
+        converted = name;
+      }
+      if (names.size() < cacheLimit) {
+        names.putIfAbsent(name, converted);
+      }
+    }
+    return converted;
+  }
+
+  /**
+   * Maximum number of converted names cached.
+   *
+   * @return cache limit
+   */
+  public int getCacheLimit() {
+    return cacheLimit;
+  }
+
+  /**
+   * Number of converted names cached.
+   *
+   * @return cache size
+   */
+  public int getCacheSize() {
+    return names.size();
+  }
+
+  /**
+   * Number of names served from the cache.
+   *
+   * @return cache hits
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Number of names converted since they were not cached, including those exceeding the cache
+   * limit.
+   *
+   * @return cache misses
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * Ratio of names served from the cache.
+   *
+   * @return hit ratio between 0 and 1
+   */
+  public double getCacheHitRatio() {
+    long hits = getCacheHits();
+    long total = hits + getCacheMisses();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * The first value of the request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter value
+   */
+  public Optional<String> param(ServerRequest request, String name) {
+    return request.param(name(name));
+  }
+
+  /**
+   * All values of the request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter values, empty if absent
+   */
+  public List<String> params(ServerRequest request, String name) {
+    List<String> values = request.params().get(name(name));
+    return values != null ? values : Collections.emptyList();
+  }
+
+  /**
+   * The value of a required request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is missing or empty
+   */
+  public String getString(ServerRequest request, String name) {
+    return getRequiredValue(request, name(name));
+  }
+
+  /**
+   * The value of an optional request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @param defaultValue fallback when the parameter is missing or empty
+   * @return parameter value
+   */
+  public String getString(ServerRequest request, String name, String defaultValue) {
+    String value = getValue(request, name(name));
+    return value != null ? value : defaultValue;
+  }
+
+  /**
+   * The value of a required request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is missing or invalid
+   */
+  public int getInt(ServerRequest request, String name) {
+    String actualName = name(name);
+    return parseInt(actualName, getRequiredValue(request, actualName));
+  }
+
+  /**
+   * The value of an optional request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @param defaultValue fallback when the parameter is missing or empty
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is invalid
+   */
+  public int getInt(ServerRequest request, String name, int defaultValue) {
+    String actualName = name(name);
+    String value = getValue(request, actualName);
+    return value != null ? parseInt(actualName, value) : defaultValue;
+  }
+
+  /**
+   * The value of a required request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is missing or invalid
+   */
+  public long getLong(ServerRequest request, String name) {
+    String actualName = name(name);
+    return parseLong(actualName, getRequiredValue(request, actualName));
+  }
+
+  /**
+   * The value of an optional request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @param defaultValue fallback when the parameter is missing or empty
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is invalid
+   */
+  public long getLong(ServerRequest request, String name, long defaultValue) {
+    String actualName = name(name);
+    String value = getValue(request, actualName);
+    return value != null ? parseLong(actualName, value) : defaultValue;
+  }
+
+  /**
+   * The value of a required request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is missing or invalid
+   */
+  public double getDouble(ServerRequest request, String name) {
+    String actualName = name(name);
+    return parseDouble(actualName, getRequiredValue(request, actualName));
+  }
+
+  /**
+   * The value of an optional request parameter.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @param defaultValue fallback when the parameter is missing or empty
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is invalid
+   */
+  public double getDouble(ServerRequest request, String name, double defaultValue) {
+    String actualName = name(name);
+    String value = getValue(request, actualName);
+    return value != null ? parseDouble(actualName, value) : defaultValue;
+  }
+
+  /**
+   * The value of a required request parameter, accepting {@code true/false}, {@code on/off},
+   * {@code yes/no} and {@code 1/0}.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is missing or invalid
+   */
+  public boolean getBoolean(ServerRequest request, String name) {
+    String actualName = name(name);
+    return parseBoolean(actualName, getRequiredValue(request, actualName));
+  }
+
+  /**
+   * The value of an optional request parameter, accepting {@code true/false}, {@code on/off},
+   * {@code yes/no} and {@code 1/0}.
+   *
+   * @param request request
+   * @param name name, converted with the naming strategy
+   * @param defaultValue fallback when the parameter is missing or empty
+   * @return parameter value
+   * @throws ResponseStatusException with status 400 if the parameter is invalid
+   */
+  public boolean getBoolean(ServerRequest request, String name, boolean defaultValue) {
+    String actualName = name(name);
+    String value = getValue(request, actualName);
+    return value != null ? parseBoolean(actualName, value) : defaultValue;
+  }
+
+  @Nullable
+  private static String getValue(ServerRequest request, String actualName) {
+    String value = request.param(actualName).orElse(null);
+    return StringUtils.hasLength(value) ? value : null;
+  }
+
+  private static String getRequiredValue(ServerRequest request, String actualName) {
+    String value = getValue(request, actualName);
+    if (value == null) {
+      throw missingParameter(actualName);
+    }
+    return value;
+  }
+
+  private static int parseInt(String actualName, String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw invalidParameter(actualName, value, e);
+    }
+  }
+
+  private static long parseLong(String actualName, String value) {
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw invalidParameter(actualName, value, e);
+    }
+  }
+
+  private static double parseDouble(String actualName, String value) {
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      throw invalidParameter(actualName, value, e);
+    }
+  }
+
+  private static boolean parseBoolean(String actualName, String value) {
+    switch (value.trim().toLowerCase(Locale.ROOT)) {
+      case "true", "on", "yes", "1" -> {
+        return true;
+      }
+      case "false", "off", "no", "0" -> {
+        return false;
+      }
+      default -> throw invalidParameter(actualName, value, null);
+    }
+  }
+
+  private static ResponseStatusException missingParameter(String actualName) {
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST, "Required parameter '" + actualName + "' is not present");
+  }
+
+  private static ResponseStatusException invalidParameter(
+      String actualName, String value, @Nullable Throwable cause) {
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "Invalid value '" + value + "' for parameter '" + actualName + "'",
+        cause);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.function;
+
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.NamingStrategyHandler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Creates {@link WebParams} backed by the naming strategy handlers registered in the bean factory.
+ *
+ * @author esotericman
+ */
+public class WebParamsFactory {
+  private final List<NamingStrategyHandler> namingStrategyHandlers;
+  private final int cacheLimit;
+  // weakly referenced, accessors no longer used by the application are not kept alive just for
+  // their statistics
+  private final Set<WebParams> webParams =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+  private boolean statisticsEnabled = true;
+
+  public WebParamsFactory(List<NamingStrategyHandler> namingStrategyHandlers) {
+    this(namingStrategyHandlers, WebParams.DEFAULT_CACHE_LIMIT);
+  }
+
+  public WebParamsFactory(List<NamingStrategyHandler> namingStrategyHandlers, int cacheLimit) {
+    this.namingStrategyHandlers = List.copyOf(namingStrategyHandlers);
+    this.cacheLimit = cacheLimit;
+  }
+
+  /**
+   * Create parameters accessor, this is expected to be called once per route.
+   *
+   * @param namingStrategy naming strategy of request parameter name
+   * @return parameters accessor
+   */
+  public WebParams create(NamingStrategy namingStrategy) {
+    WebParams params =
+        WebParams.of(namingStrategy, namingStrategyHandlers, cacheLimit, statisticsEnabled);
+    webParams.add(params);
+    return params;
+  }
+
+  /**
+   * Whether the created accessors record their cache statistics. Defaults to {@code true}.
+   *
+   * @param statisticsEnabled statistics enabled
+   */
+  public void setStatisticsEnabled(boolean statisticsEnabled) {
+    this.statisticsEnabled = statisticsEnabled;
+  }
+
+  /**
+   * Parameters accessors created by this factory and still in use, in no particular order.
+   *
+   * @return parameters accessors
+   */
+  public List<WebParams> getWebParams() {
+    synchronized (webParams) {
+      return List.copyOf(webParams);
+    }
+  }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.multipart;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Reads a {@code multipart/*} body in a single pass, exposing each part as soon as its headers have
+ * arrived. Nothing is spooled to memory or disk, only a small fixed-size buffer is used, which in
+ * turn means every part has to be consumed in order and can be read only once.
+ *
+ * <p>Instances are not thread-safe, they are bound to the request being processed.
+ *
+ * @author esotericman
+ */
+public class MultipartStream implements Iterator<StreamingPart> {
+  /** No limit on the part size. */
+  public static final long UNLIMITED = -1;
+
+  /** Default maximum size of the headers of a part. */
+  public static final int DEFAULT_MAX_HEADER_SIZE = 10 * 1024;
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final InputStream inputStream;
+  private final byte[] delimiter;
+  private final byte[] buffer;
+  private final Charset headerCharset;
+  private final long maxPartSize;
+  private final int maxHeaderSize;
+  private final Function<String, String> nameConverter;
+
+  private int head;
+  private int tail;
+  // the delimiter search resumes where it stopped, so that content handed out in small chunks is
+  // scanned only once
+  private int searchFrom;
+  private int delimiterIndex = -1;
+  private PartInputStream current;
+  private StreamingPart next;
+  private boolean finished;
+
+  /**
+   * Create a multipart stream.
+   *
+   * @param inputStream request body
+   * @param boundary boundary of the parts
+   * @param headerCharset charset of the part headers
+   * @param maxPartSize maximum size of a part, {@link #UNLIMITED} for no limit
+   * @param maxHeaderSize maximum size of the headers of a part
+   * @param nameConverter converts names to part names according to the naming strategy
+   */
+  public MultipartStream(
+      InputStream inputStream,
+      String boundary,
+      Charset headerCharset,
+      long maxPartSize,
+      int maxHeaderSize,
+      Function<String, String> nameConverter) {
+    this.inputStream = inputStream;
+    this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+    this.buffer = new byte[Math.max(BUFFER_SIZE, this.delimiter.length * 2)];
+    this.headerCharset = headerCharset;
+    this.maxPartSize = maxPartSize;
+    this.maxHeaderSize = maxHeaderSize;
+    this.nameConverter = nameConverter;
+    // the first delimiter is not preceded by a line break, pretend it is so that every delimiter
+    // looks the same, whatever precedes the first delimiter is skipped as preamble
+    this.buffer[0] = '\r';
+    this.buffer[1] = '\n';
+    this.tail = 2;
+    this.current = new PartInputStream(UNLIMITED);
+  }
+
+  /**
+   * Convert the given name to a part name according to the naming strategy.
+   *
+   * @param name name
+   * @return part name
+   */
+  public String name(String name) {
+    String converted = nameConverter.apply(name);
+    return converted != null ? converted : name;
+  }
+
+  /**
+   * Move on to the next part, skipping whatever is left of the current one.
+   *
+   * @return next part, {@code null} if there are no more parts
+   * @throws IOException if reading the request fails or the body is malformed
+   */
+  @Nullable
+  public StreamingPart nextPart() throws IOException {
+    StreamingPart part = this.next;
+    if (part != null) {
+      this.next = null;
+      return part;
+    }
+    return readPart();
+  }
+
+  /**
+   * Move on to the next part with the given name, skipping every part in between.
+   *
+   * @param name name, converted with the naming strategy
+   * @return next part with the given name, {@code null} if there is none
+   * @throws IOException if reading the request fails or the body is malformed
+   */
+  @Nullable
+  public StreamingPart nextPart(String name) throws IOException {
+    String actualName = name(name);
+    StreamingPart part;
+    while ((part = nextPart()) != null) {
+      if (actualName.equals(part.getName())) {
+        return part;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Pass every remaining part to the callback, in the order they arrive.
+   *
+   * @param callback callback
+   * @throws IOException if reading the request fails or the body is malformed
+   */
+  public void forEachPart(PartCallback callback) throws IOException {
+    StreamingPart part;
+    while ((part = nextPart()) != null) {
+      callback.handle(part);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.next == null) {
+      try {
+        this.next = readPart();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return this.next != null;
+  }
+
+  @Override
+  public StreamingPart next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    StreamingPart part = this.next;
+    this.next = null;
+    return part;
+  }
+
+  @Nullable
+  private StreamingPart readPart() throws IOException {
+    if (this.finished) {
+      return null;
+    }
+    this.current.skipRemaining();
+    int first = readByte();
+    int second = readByte();
+    if (first == '-' && second == '-') {
+      // closing delimiter, the epilogue is ignored
+      this.finished = true;
+      return null;
+    }
+    // transport padding is allowed between the delimiter and the line break
+    while (first == ' ' || first == '\t') {
+      first = second;
+      second = readByte();
+    }
+    if (first != '\r' || second != '\n') {
+      throw new IOException("Malformed multipart stream, missing line break after boundary");
+    }
+    HttpHeaders headers = readHeaders();
+    this.current = new PartInputStream(this.maxPartSize);
+    return new DefaultStreamingPart(headers, this.current);
+  }
+
+  private HttpHeaders readHeaders() throws IOException {
+    HttpHeaders headers = new HttpHeaders();
+    ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+    int size = 0;
+    while (true) {
+      int b = readByte();
+      if (++size > this.maxHeaderSize) {
+        throw new MaxUploadSizeExceededException(this.maxHeaderSize);
+      }
+      if (b != '\n') {
+        line.write(b);
+        continue;
+      }
+      String header = line.toString(this.headerCharset);
+      line.reset();
+      if (header.endsWith("\r")) {
+        header = header.substring(0, header.length() - 1);
+      }
+      if (header.isEmpty()) {
+        return headers;
+      }
+      int colon = header.indexOf(':');
+      if (colon > 0) {
+        headers.add(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+      }
+    }
+  }
+
+  private int readByte() throws IOException {
+    if (this.head == this.tail && !fill()) {
+      throw new IOException("Unexpected end of multipart stream");
+    }
+    return this.buffer[this.head++] & 0xff;
+  }
+
+  private boolean fill() throws IOException {
+    if (this.head > 0) {
+      System.arraycopy(this.buffer, this.head, this.buffer, 0, this.tail - this.head);
+      this.tail -= this.head;
+      this.searchFrom = Math.max(0, this.searchFrom - this.head);
+      if (this.delimiterIndex >= 0) {
+        this.delimiterIndex -= this.head;
+      }
+      this.head = 0;
+    }
+    if (this.tail == this.buffer.length) {
+      return true;
+    }
+    int read = this.inputStream.read(this.buffer, this.tail, this.buffer.length - this.tail);
+    if (read == -1) {
+      return false;
+    }
+    this.tail += read;
+    return true;
+  }
+
+  private int indexOfDelimiter() {
+    if (this.delimiterIndex >= 0) {
+      return this.delimiterIndex;
+    }
+    int from = Math.max(this.head, this.searchFrom);
+    int last = this.tail - this.delimiter.length;
+    outer:
+    for (int i = from; i <= last; i++) {
+      for (int j = 0; j < this.delimiter.length; j++) {
+        if (this.buffer[i + j] != this.delimiter[j]) {
+          continue outer;
+        }
+      }
+      this.delimiterIndex = i;
+      return i;
+    }
+    // a delimiter can only start after the positions checked, once more bytes have arrived
+    this.searchFrom = Math.max(from, last + 1);
+    return -1;
+  }
+
+  private void consumeDelimiter() {
+    this.head = this.delimiterIndex + this.delimiter.length;
+    this.searchFrom = this.head;
+    this.delimiterIndex = -1;
+  }
+
+  /** Content of a single part, ending right before the next delimiter. */
+  private class PartInputStream extends InputStream {
+    private final long maxSize;
+    private final byte[] single = new byte[1];
+    private long size;
+    private boolean done;
+
+    PartInputStream(long maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int read = transfer(this.single, 0, 1);
+      return read == -1 ? -1 : this.single[0] & 0xff;
+    }
+
+    @Override
+    public int read(@NonNull byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      return transfer(b, off, len);
+    }
+
+    void skipRemaining() throws IOException {
+      while (transfer(null, 0, Integer.MAX_VALUE) != -1) {
+        // skip
+      }
+    }
+
+    private int transfer(@Nullable byte[] b, int off, int len) throws IOException {
+      if (this.done) {
+        return -1;
+      }
+      while (true) {
+        int index = indexOfDelimiter();
+        int available;
+        if (index >= 0) {
+          available = index - head;
+          if (available == 0) {
+            this.done = true;
+            consumeDelimiter();
+            return -1;
+          }
+        } else {
+          // bytes at the end of the buffer might be the beginning of a delimiter
+          available = tail - head - (delimiter.length - 1);
+        }
+        if (available > 0) {
+          int count = Math.min(len, available);
+          if (b != null) {
+            System.arraycopy(buffer, head, b, off, count);
+          }
+          head += count;
+          this.size += count;
+          // skipped content is never held anywhere, so only the content handed out is limited
+          if (b != null && this.maxSize >= 0 && this.size > this.maxSize) {
+            throw new MaxUploadSizeExceededException(this.maxSize);
+          }
+          return count;
+        }
+        if (!fill()) {
+          throw new IOException("Unexpected end of multipart stream");
+        }
+      }
+    }
+  }
+
+  private static class DefaultStreamingPart implements StreamingPart {
+    private final HttpHeaders headers;
+    private final ContentDisposition contentDisposition;
+    private final InputStream inputStream;
+
+    DefaultStreamingPart(HttpHeaders headers, InputStream inputStream) {
+      this.headers = headers;
+      this.contentDisposition = parseContentDisposition(headers);
+      this.inputStream = inputStream;
+    }
+
+    private static ContentDisposition parseContentDisposition(HttpHeaders headers) {
+      try {
+        return headers.getContentDisposition();
+      } catch (IllegalArgumentException e) {
+        return ContentDisposition.empty();
+      }
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+      return contentDisposition.getName();
+    }
+
+    @Override
+    @Nullable
+    public String getFilename() {
+      return contentDisposition.getFilename();
+    }
+
+    @Override
+    @Nullable
+    public MediaType getContentType() {
+      return headers.getContentType();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return inputStream;
+    }
+
+    @Override
+    public String toString() {
+      return "StreamingPart[" + getName() + "]";
+    }
+  }
+}
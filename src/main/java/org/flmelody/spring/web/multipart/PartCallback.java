@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.multipart;
+
+import java.io.IOException;
+
+/**
+ * Callback receiving each part of a {@link MultipartStream} as it arrives.
+ *
+ * @author esotericman
+ */
+@FunctionalInterface
+public interface PartCallback {
+
+  /**
+   * Handle a part, its content should be consumed before returning.
+   *
+   * @param part part
+   * @throws IOException if reading the part fails
+   */
+  void handle(StreamingPart part) throws IOException;
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.multipart;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.InputStream;
+
+/**
+ * A part of a multipart request exposed while the request body is being read, its content is not
+ * buffered and can be read only once, before moving on to the next part.
+ *
+ * @author esotericman
+ */
+public interface StreamingPart {
+
+  /**
+   * The name of the part, as sent by the client.
+   *
+   * @return part name
+   */
+  @Nullable
+  String getName();
+
+  /**
+   * The original filename in the client's filesystem.
+   *
+   * @return filename, {@code null} if the part is not a file
+   */
+  @Nullable
+  String getFilename();
+
+  /**
+   * The content type of the part.
+   *
+   * @return content type, {@code null} if not defined
+   */
+  @Nullable
+  MediaType getContentType();
+
+  /**
+   * The headers of the part.
+   *
+   * @return headers
+   */
+  HttpHeaders getHeaders();
+
+  /**
+   * The content of the part, which becomes unavailable once the next part is requested.
+   *
+   * @return content
+   */
+  InputStream getInputStream();
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.method.support.UriComponentsContributor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Delegates to the {@link WebMethodArgumentResolver} beans, which are looked up on first use rather
+ * than while Spring MVC is being configured, and consulted in {@link Order} order.
+ *
+ * @author esotericman
+ */
+public class WebMethodArgumentResolverComposite
+    implements HandlerMethodArgumentResolver, UriComponentsContributor {
+  private final ObjectProvider<WebMethodArgumentResolver> argumentResolvers;
+
+  private volatile HandlerMethodArgumentResolverComposite delegate;
+
+  public WebMethodArgumentResolverComposite(
+      ObjectProvider<WebMethodArgumentResolver> argumentResolvers) {
+    this.argumentResolvers = argumentResolvers;
+  }
+
+  @Override
+  public boolean supportsParameter(@NonNull MethodParameter parameter) {
+    return getDelegate().supportsParameter(parameter);
+  }
+
+  @Override
+  @Nullable
+  public Object resolveArgument(
+      @NonNull MethodParameter parameter,
+      @Nullable ModelAndViewContainer mavContainer,
+      @NonNull NativeWebRequest webRequest,
+      @Nullable WebDataBinderFactory binderFactory)
+      throws Exception {
+    return getDelegate().resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+  }
+
+  @Override
+  public void contributeMethodArgument(
+      @NonNull MethodParameter parameter,
+      @Nullable Object value,
+      @NonNull UriComponentsBuilder builder,
+      @NonNull Map<String, Object> uriVariables,
+      @Nullable ConversionService conversionService) {
+    for (HandlerMethodArgumentResolver resolver : getDelegate().getResolvers()) {
+      if (resolver.supportsParameter(parameter)) {
+        if (resolver instanceof UriComponentsContributor contributor) {
+          contributor.contributeMethodArgument(
+              parameter, value, builder, uriVariables, conversionService);
+        }
+        return;
+      }
+    }
+  }
+
+  private HandlerMethodArgumentResolverComposite getDelegate() {
+    HandlerMethodArgumentResolverComposite resolvers = this.delegate;
+    if (resolvers == null) {
+      synchronized (this) {
+        resolvers = this.delegate;
+        if (resolvers == null) {
+          resolvers = new HandlerMethodArgumentResolverComposite();
+          resolvers.addResolvers(this.argumentResolvers.orderedStream().toList());
+          this.delegate = resolvers;
+        }
+      }
+    }
+    return resolvers;
+  }
+}
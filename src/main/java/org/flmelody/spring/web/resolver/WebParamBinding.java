@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.springframework.lang.Nullable;
+
+/**
+ * Describes how a handler parameter is bound to the request, e.g. which name is read from the wire.
+ *
+ * @param parameterName name of the method parameter
+ * @param name name of the request parameter to bind to
+ * @param namingStrategy effective naming strategy, {@code null} if the name is not converted
+ * @param namingStrategyHandler class name of the handler converting the name, if any
+ * @param required whether the parameter is required
+ * @author esotericman
+ */
+public record WebParamBinding(
+    @Nullable String parameterName,
+    @Nullable String name,
+    @Nullable NamingStrategy namingStrategy,
+    @Nullable String namingStrategyHandler,
+    boolean required) {}
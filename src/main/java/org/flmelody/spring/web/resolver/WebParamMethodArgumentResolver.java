@@ -28,7 +28,10 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.NonNull;
@@ -40,6 +43,7 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ValueConstants;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.AbstractNamedValueMethodArgumentResolver;
 import org.springframework.web.method.annotation.RequestParamMapMethodArgumentResolver;
 import org.springframework.web.method.annotation.RequestParamMethodArgumentResolver;
@@ -51,13 +55,16 @@ import org.springframework.web.multipart.support.MissingServletRequestPartExcept
 import org.springframework.web.multipart.support.MultipartResolutionDelegate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
+ * A single instance is shared by all request threads, hence its state is either immutable or
+ * published as an immutable snapshot, reading it never takes a lock.
+ *
  * @author esotericman
  */
 public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver
@@ -65,13 +72,21 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
   private static final Logger logger =
       LoggerFactory.getLogger(WebParamMethodArgumentResolver.class);
   private static final TypeDescriptor STRING_TYPE_DESCRIPTOR = TypeDescriptor.valueOf(String.class);
+  private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER =
+      new DefaultParameterNameDiscoverer();
 
-  private ConfigurableListableBeanFactory configurableBeanFactory;
+  private final ConfigurableListableBeanFactory configurableBeanFactory;
   private final boolean useDefaultResolution;
 
   private final NamingStrategy namingStrategy;
 
-  private final List<NamingStrategyHandler> namingStrategyHandlers = new ArrayList<>();
+  private volatile List<NamingStrategyHandler> namingStrategyHandlers = List.of();
+
+  private final WebResolverStatistics statistics = new WebResolverStatistics();
+
+  private volatile Map<MethodParameter, NamedValueInfo> bindingPlans = Map.of();
+
+  private boolean lenient = true;
 
   public WebParamMethodArgumentResolver(
       NamingStrategy namingStrategy,
@@ -91,6 +106,7 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
    *     it isn't annotated, the request parameter name is derived from the method parameter name.
    */
   public WebParamMethodArgumentResolver(boolean useDefaultResolution) {
+    this.configurableBeanFactory = null;
     this.useDefaultResolution = useDefaultResolution;
     this.namingStrategy = null;
   }
@@ -109,6 +125,7 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
       @Nullable ConfigurableBeanFactory beanFactory, boolean useDefaultResolution) {
 
     super(beanFactory);
+    this.configurableBeanFactory = null;
     this.useDefaultResolution = useDefaultResolution;
     this.namingStrategy = null;
   }
@@ -119,7 +136,8 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
    * <ul>
    *   <li>@RequestParam-annotated method arguments. This excludes {@link Map} params where the
    *       annotation does not specify a name. See {@link RequestParamMapMethodArgumentResolver}
-   *       instead for such params.
+   *       instead for such params. This also excludes streaming multipart params, see {@link
+   *       WebPartStreamMethodArgumentResolver} instead for such params.
    *   <li>Arguments of type {@link MultipartFile} unless annotated with @{@link RequestPart}.
    *   <li>Arguments of type {@code Part} unless annotated with @{@link RequestPart}.
    *   <li>In default resolution mode, simple type arguments even if not with @{@link WebParam}.
@@ -127,6 +145,9 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
    */
   @Override
   public boolean supportsParameter(MethodParameter parameter) {
+    if (WebPartStreamMethodArgumentResolver.isStreamingArgument(parameter)) {
+      return false;
+    }
     if (parameter.hasParameterAnnotation(WebParam.class)) {
       if (Map.class.isAssignableFrom(parameter.nestedIfOptional().getNestedParameterType())) {
         WebParam requestParam = parameter.getParameterAnnotation(WebParam.class);
@@ -152,31 +173,165 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
   @Override
   @NonNull
   protected NamedValueInfo createNamedValueInfo(MethodParameter parameter) {
+    NamedValueInfo bindingPlan = this.bindingPlans.get(parameter);
+    if (bindingPlan != null) {
+      this.statistics.recordPrecomputedBindingPlan();
+      return bindingPlan;
+    }
+    this.statistics.recordLazyBindingPlan();
+    return buildNamedValueInfo(parameter);
+  }
+
+  /**
+   * Build the binding plans of the given handler methods upfront, so that misconfigured parameters
+   * are reported right away and the first requests skip building them.
+   *
+   * @param handlerMethods handler methods
+   */
+  public void precomputeBindingPlans(Collection<HandlerMethod> handlerMethods) {
+    Map<MethodParameter, NamedValueInfo> plans = new HashMap<>(this.bindingPlans);
+    for (HandlerMethod handlerMethod : handlerMethods) {
+      for (MethodParameter methodParameter : handlerMethod.getMethodParameters()) {
+        MethodParameter parameter = methodParameter.clone();
+        parameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+        if (supportsParameter(parameter)) {
+          plans.put(parameter, buildNamedValueInfo(parameter));
+        }
+      }
+    }
+    this.bindingPlans = Map.copyOf(plans);
+  }
+
+  /**
+   * Build the binding plan of the given parameter, which is cached along with the rest of the
+   * parameter metadata.
+   *
+   * @param parameter method parameter
+   * @return binding plan
+   */
+  protected NamedValueInfo buildNamedValueInfo(MethodParameter parameter) {
     WebParam ann = parameter.getParameterAnnotation(WebParam.class);
-    return (ann != null ? new WebParamNamedValueInfo(ann) : new WebParamNamedValueInfo());
+    if (ann == null) {
+      return new WebParamNamedValueInfo();
+    }
+    // the converted name is cached together with the rest of the parameter metadata, so naming
+    // strategies are neither looked up nor applied again on subsequent requests
+    WebParamBinding binding = describeParameter(parameter);
+    checkNamingStrategyHandler(binding, parameter);
+    return new WebParamNamedValueInfo(binding.name() != null ? binding.name() : "", ann);
   }
 
-  @Override
+  /**
+   * Fail in strict mode, or warn otherwise, if no handler supports the naming strategy of the
+   * given binding.
+   *
+   * @param binding binding of the parameter
+   * @param parameter method parameter
+   */
+  protected void checkNamingStrategyHandler(WebParamBinding binding, MethodParameter parameter) {
+    if (binding.namingStrategy() == null || binding.namingStrategyHandler() != null) {
+      return;
+    }
+    if (!this.lenient) {
+      throw new IllegalStateException(
+          "No naming strategy handler supports "
+              + binding.namingStrategy()
+              + " required by "
+              + parameter);
+    }
+    logger.warn(
+        "No naming strategy handler supports {} required by {}, using the parameter name",
+        binding.namingStrategy(),
+        parameter);
+  }
+
+  /**
+   * Describe how the given parameter is bound to the request. This has no side effects, a naming
+   * strategy without handler is reported once the binding plan of the parameter is built.
+   *
+   * @param parameter method parameter, its parameter name discovery should be initialized
+   * @return binding of the parameter
+   */
+  public WebParamBinding describeParameter(MethodParameter parameter) {
+    String parameterName = parameter.getParameterName();
+    WebParam ann = parameter.getParameterAnnotation(WebParam.class);
+    if (ann == null) {
+      return new WebParamBinding(parameterName, parameterName, null, null, false);
+    }
+    if (StringUtils.hasText(ann.name())) {
+      return new WebParamBinding(parameterName, ann.name(), null, null, ann.required());
+    }
+    return describeConvertedName(parameter, ann.required());
+  }
+
+  /**
+   * Describe the binding of the given parameter by its parameter name, converted with the naming
+   * strategy of the parameter.
+   *
+   * @param parameter method parameter, its parameter name discovery should be initialized
+   * @param required whether the parameter is required
+   * @return binding of the parameter
+   */
+  protected WebParamBinding describeConvertedName(MethodParameter parameter, boolean required) {
+    String parameterName = parameter.getParameterName();
+    NamingStrategy strategy = determineNamingStrategy(parameter);
+    if (strategy == null || NamingStrategy.NONE.equals(strategy)) {
+      return new WebParamBinding(parameterName, parameterName, null, null, required);
+    }
+    NamingStrategyHandler handler = findNamingStrategyHandler(strategy);
+    if (handler == null) {
+      if (NamingStrategy.LOWER_CAMEL_CASE.equals(strategy)) {
+        // parameter names follow the lower camel convention already
+        return new WebParamBinding(parameterName, parameterName, null, null, required);
+      }
+      return new WebParamBinding(parameterName, parameterName, strategy, null, required);
+    }
+    return new WebParamBinding(
+        parameterName,
+        parameterName != null ? handler.convertNamingConvention(parameterName) : null,
+        strategy,
+        handler.getClass().getName(),
+        required);
+  }
+
+  /**
+   * Determine the naming strategy of the given parameter, merging the parameter, type, package and
+   * global level in that order.
+   *
+   * @param parameter method parameter
+   * @return effective naming strategy, might be {@code null} if none is configured
+   */
   @Nullable
-  protected Object resolveName(String name, MethodParameter parameter, NativeWebRequest request)
-      throws Exception {
+  protected NamingStrategy determineNamingStrategy(MethodParameter parameter) {
     WebParam ann = parameter.getParameterAnnotation(WebParam.class);
-    String actualName;
-    if (ann != null && !StringUtils.hasText(ann.name())) {
-      NamingStrategy strategy = ann.namingStrategy();
-      if (NamingStrategy.NONE.equals(strategy)) {
-        strategy = this.namingStrategy;
+    if (ann != null && !NamingStrategy.NONE.equals(ann.namingStrategy())) {
+      return ann.namingStrategy();
+    }
+    Class<?> containingClass = parameter.getContainingClass();
+    WebParam typeAnn = AnnotatedElementUtils.findMergedAnnotation(containingClass, WebParam.class);
+    if (typeAnn != null && !NamingStrategy.NONE.equals(typeAnn.namingStrategy())) {
+      return typeAnn.namingStrategy();
+    }
+    Package containingPackage = containingClass.getPackage();
+    if (containingPackage != null) {
+      WebParam packageAnn = containingPackage.getAnnotation(WebParam.class);
+      if (packageAnn != null && !NamingStrategy.NONE.equals(packageAnn.namingStrategy())) {
+        return packageAnn.namingStrategy();
       }
-      actualName = convertNamingConversion(strategy, name);
-    } else {
-      actualName = name;
     }
+    return this.namingStrategy;
+  }
+
+  @Override
+  @Nullable
+  protected Object resolveName(String name, MethodParameter parameter, NativeWebRequest request)
+      throws Exception {
+    this.statistics.recordResolution();
     HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
 
     if (servletRequest != null) {
       Object mpArg =
-          MultipartResolutionDelegate.resolveMultipartArgument(
-              actualName, parameter, servletRequest);
+          MultipartResolutionDelegate.resolveMultipartArgument(name, parameter, servletRequest);
       if (mpArg != MultipartResolutionDelegate.UNRESOLVABLE) {
         return mpArg;
       }
@@ -185,13 +340,13 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
     Object arg = null;
     MultipartRequest multipartRequest = request.getNativeRequest(MultipartRequest.class);
     if (multipartRequest != null) {
-      List<MultipartFile> files = multipartRequest.getFiles(actualName);
+      List<MultipartFile> files = multipartRequest.getFiles(name);
       if (!files.isEmpty()) {
         arg = (files.size() == 1 ? files.get(0) : files);
       }
     }
     if (arg == null) {
-      String[] paramValues = request.getParameterValues(actualName);
+      String[] paramValues = request.getParameterValues(name);
       if (paramValues != null) {
         arg = (paramValues.length == 1 ? paramValues[0] : paramValues);
       }
@@ -220,6 +375,7 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
       boolean missingAfterConversion)
       throws Exception {
 
+    this.statistics.recordMissingValue();
     HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
     if (MultipartResolutionDelegate.isMultipartArgument(parameter)) {
       if (servletRequest == null
@@ -310,21 +466,75 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
       try {
         Map<String, NamingStrategyHandler> beansOfType =
             configurableBeanFactory.getBeansOfType(NamingStrategyHandler.class);
-        this.namingStrategyHandlers.addAll(beansOfType.values());
+        this.namingStrategyHandlers = List.copyOf(beansOfType.values());
       } catch (BeansException ignored) {
         logger.debug("Unable to load naming handlers");
       }
     }
   }
 
-  private String convertNamingConversion(NamingStrategy namingStrategy, String value) {
+  /**
+   * Whether to fall back to the original name when no naming strategy handler supports the
+   * strategy of a parameter, otherwise building its binding plan fails. Lower camel case never
+   * requires a handler, parameter names follow it already. Defaults to {@code true}.
+   *
+   * @param lenient lenient
+   */
+  public void setLenient(boolean lenient) {
+    this.lenient = lenient;
+  }
+
+  /**
+   * Whether to record the runtime statistics. Defaults to {@code true}.
+   *
+   * @param statisticsEnabled statistics enabled
+   */
+  public void setStatisticsEnabled(boolean statisticsEnabled) {
+    this.statistics.setEnabled(statisticsEnabled);
+  }
+
+  /**
+   * Global naming strategy of this resolver.
+   *
+   * @return naming strategy, might be {@code null}
+   */
+  @Nullable
+  public NamingStrategy getNamingStrategy() {
+    return namingStrategy;
+  }
+
+  /**
+   * Naming strategy handlers loaded from the bean factory.
+   *
+   * @return naming strategy handlers
+   */
+  public List<NamingStrategyHandler> getNamingStrategyHandlers() {
+    return namingStrategyHandlers;
+  }
+
+  /**
+   * Runtime statistics of this resolver.
+   *
+   * @return statistics
+   */
+  public WebResolverStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Find the handler converting names to the given naming strategy.
+   *
+   * @param namingStrategy naming strategy
+   * @return naming strategy handler, {@code null} if none supports the naming strategy
+   */
+  @Nullable
+  protected NamingStrategyHandler findNamingStrategyHandler(NamingStrategy namingStrategy) {
     for (NamingStrategyHandler namingStrategyHandler : this.namingStrategyHandlers) {
       if (namingStrategyHandler.supportNamingStrategy(namingStrategy)) {
-        return namingStrategyHandler.convertNamingConvention(value);
+        return namingStrategyHandler;
       }
     }
-    logger.warn("No suitable naming converter was found, the default value will be used");
-    return value;
+    return null;
   }
 
   private static class WebParamNamedValueInfo extends NamedValueInfo {
@@ -333,8 +543,8 @@ public class WebParamMethodArgumentResolver extends AbstractNamedValueMethodArgu
       super("", false, ValueConstants.DEFAULT_NONE);
     }
 
-    public WebParamNamedValueInfo(WebParam annotation) {
-      super(annotation.name(), annotation.required(), ValueConstants.DEFAULT_NONE);
+    public WebParamNamedValueInfo(String name, WebParam annotation) {
+      super(name, annotation.required(), ValueConstants.DEFAULT_NONE);
     }
   }
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.multipart.MultipartStream;
+import org.flmelody.spring.web.multipart.StreamingPart;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.NamingStrategyHandler;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.multipart.support.MultipartResolutionDelegate;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Executable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Binds the parts of a multipart request while the request body is being read, so that large
+ * uploads are processed in a single pass without temporary files. Supports the following:
+ *
+ * <ul>
+ *   <li>Arguments of type {@link StreamingPart}, bound to the first part with the parameter name
+ *       converted by the naming strategy, parts arriving before it are skipped.
+ *   <li>Arguments of type {@link MultipartStream}, iterating over every part as it arrives, part
+ *       names are matched with the naming strategy of the parameter's type, package or the global
+ *       one.
+ * </ul>
+ *
+ * <p>The raw request body must still be unread when the handler is invoked, i.e. the multipart
+ * resolver must not parse the request upfront, for instance with {@code
+ * spring.servlet.multipart.resolve-lazily=true}, a body already read fails with a {@link
+ * MultipartException}. For the same reason a streaming parameter cannot be combined with other
+ * arguments reading request parameters or parts, such as {@code @WebParam}, {@code @RequestParam},
+ * {@code @RequestPart}, {@code @ModelAttribute}, {@code MultipartFile} or unannotated simple types,
+ * resolving such a handler fails with a {@link MultipartException}.
+ *
+ * <p>Parts are read strictly in order and only once. When a handler declares several {@link
+ * StreamingPart} parameters, each one moves forward to its part, parts arriving before it are
+ * skipped for good, including parts expected by the following parameters, hence they have to be
+ * declared in the order the client sends the parts.
+ *
+ * @author esotericman
+ */
+public class WebPartStreamMethodArgumentResolver extends WebParamMethodArgumentResolver {
+  private static final String MULTIPART_STREAM_ATTRIBUTE =
+      WebPartStreamMethodArgumentResolver.class.getName() + ".MULTIPART_STREAM";
+
+  private long maxPartSize = MultipartStream.UNLIMITED;
+
+  private int maxHeaderSize = MultipartStream.DEFAULT_MAX_HEADER_SIZE;
+
+  private final Map<MethodParameter, Function<String, String>> streamNameConverters =
+      new ConcurrentHashMap<>();
+
+  public WebPartStreamMethodArgumentResolver(
+      NamingStrategy namingStrategy, ConfigurableListableBeanFactory beanFactory) {
+    super(namingStrategy, beanFactory, false);
+  }
+
+  /**
+   * Whether the given parameter is bound to a streamed multipart request.
+   *
+   * @param parameter method parameter
+   * @return is it a streaming argument
+   */
+  public static boolean isStreamingArgument(MethodParameter parameter) {
+    Class<?> paramType = parameter.nestedIfOptional().getNestedParameterType();
+    return StreamingPart.class == paramType || MultipartStream.class == paramType;
+  }
+
+  /**
+   * Set the maximum size of a single part, exceeding it while reading the part fails with a {@link
+   * org.springframework.web.multipart.MaxUploadSizeExceededException}.
+   *
+   * @param maxPartSize maximum size in bytes, {@link MultipartStream#UNLIMITED} for no limit
+   */
+  public void setMaxPartSize(long maxPartSize) {
+    this.maxPartSize = maxPartSize;
+  }
+
+  /**
+   * Set the maximum size of the headers of a single part.
+   *
+   * @param maxHeaderSize maximum size in bytes
+   */
+  public void setMaxHeaderSize(int maxHeaderSize) {
+    this.maxHeaderSize = maxHeaderSize;
+  }
+
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    return isStreamingArgument(parameter);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Unannotated {@link StreamingPart} parameters are named by the naming strategy as well.
+   */
+  @Override
+  public WebParamBinding describeParameter(MethodParameter parameter) {
+    if (isUnannotatedPart(parameter)) {
+      return describeConvertedName(parameter, false);
+    }
+    return super.describeParameter(parameter);
+  }
+
+  @Override
+  protected NamedValueInfo buildNamedValueInfo(MethodParameter parameter) {
+    if (isUnannotatedPart(parameter)) {
+      WebParamBinding binding = describeParameter(parameter);
+      checkNamingStrategyHandler(binding, parameter);
+      return new NamedValueInfo(
+          binding.name() != null ? binding.name() : "", false, ValueConstants.DEFAULT_NONE);
+    }
+    return super.buildNamedValueInfo(parameter);
+  }
+
+  @Override
+  @Nullable
+  protected Object resolveName(String name, MethodParameter parameter, NativeWebRequest request)
+      throws Exception {
+    getStatistics().recordResolution();
+    HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+    if (servletRequest == null || !MultipartResolutionDelegate.isMultipartRequest(servletRequest)) {
+      return null;
+    }
+    Function<String, String> streamNameConverter = getStreamNameConverter(parameter);
+    MultipartStream multipartStream =
+        (MultipartStream)
+            request.getAttribute(MULTIPART_STREAM_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (multipartStream == null) {
+      multipartStream = createMultipartStream(servletRequest, streamNameConverter);
+      request.setAttribute(
+          MULTIPART_STREAM_ATTRIBUTE, multipartStream, RequestAttributes.SCOPE_REQUEST);
+    }
+    if (MultipartStream.class == parameter.getNestedParameterType()) {
+      return multipartStream;
+    }
+    StreamingPart part;
+    while ((part = multipartStream.nextPart()) != null) {
+      if (name.equals(part.getName())) {
+        return part;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  protected void handleMissingValueInternal(
+      String name,
+      MethodParameter parameter,
+      NativeWebRequest request,
+      boolean missingAfterConversion)
+      throws Exception {
+
+    getStatistics().recordMissingValue();
+    HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+    if (servletRequest == null || !MultipartResolutionDelegate.isMultipartRequest(servletRequest)) {
+      throw new MultipartException("Current request is not a multipart request");
+    }
+    throw new MissingServletRequestPartException(name);
+  }
+
+  @Override
+  public void contributeMethodArgument(
+      MethodParameter parameter,
+      @Nullable Object value,
+      @NonNull UriComponentsBuilder builder,
+      @NonNull Map<String, Object> uriVariables,
+      @Nullable ConversionService conversionService) {
+    // parts are never part of the URI
+  }
+
+  private static boolean isUnannotatedPart(MethodParameter parameter) {
+    return StreamingPart.class == parameter.nestedIfOptional().getNestedParameterType()
+        && !parameter.hasParameterAnnotation(WebParam.class);
+  }
+
+  private MultipartStream createMultipartStream(
+      HttpServletRequest servletRequest, Function<String, String> nameConverter) throws Exception {
+    String boundary =
+        MediaType.parseMediaType(servletRequest.getContentType()).getParameter("boundary");
+    if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"")) {
+      boundary = StringUtils.trimTrailingCharacter(boundary.substring(1), '"');
+    }
+    if (!StringUtils.hasText(boundary)) {
+      throw new MultipartException("Current request has no multipart boundary");
+    }
+    String encoding = servletRequest.getCharacterEncoding();
+    Charset headerCharset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    return new MultipartStream(
+        getUnreadBody(servletRequest),
+        boundary,
+        headerCharset,
+        this.maxPartSize,
+        this.maxHeaderSize,
+        nameConverter);
+  }
+
+  /**
+   * The stream is shared by every streaming parameter of the handler, whichever of them creates it
+   * converts the names passed to the stream with the naming strategy of the {@link
+   * MultipartStream} parameter.
+   */
+  /**
+   * A multipart resolver parsing the request upfront has already read the body by the time the
+   * handler is invoked, which would otherwise only show as a truncated multipart stream.
+   */
+  private static InputStream getUnreadBody(HttpServletRequest servletRequest) throws IOException {
+    InputStream inputStream = servletRequest.getInputStream();
+    if (WebUtils.getNativeRequest(servletRequest, MultipartHttpServletRequest.class) == null) {
+      return inputStream;
+    }
+    PushbackInputStream body = new PushbackInputStream(inputStream);
+    int first = body.read();
+    if (first == -1) {
+      throw new MultipartException(
+          "The multipart request body has already been read by the multipart resolver, streaming"
+              + " parts requires it to resolve lazily, e.g. with"
+              + " spring.servlet.multipart.resolve-lazily=true");
+    }
+    body.unread(first);
+    return body;
+  }
+
+  private Function<String, String> getStreamNameConverter(MethodParameter parameter) {
+    Function<String, String> nameConverter = this.streamNameConverters.get(parameter);
+    if (nameConverter == null) {
+      checkOtherArguments(parameter);
+      MethodParameter streamParameter = findMultipartStreamParameter(parameter);
+      nameConverter =
+          streamParameter != null ? createNameConverter(streamParameter) : Function.identity();
+      this.streamNameConverters.putIfAbsent(parameter, nameConverter);
+    }
+    return nameConverter;
+  }
+
+  @Nullable
+  private static MethodParameter findMultipartStreamParameter(MethodParameter parameter) {
+    if (MultipartStream.class == parameter.nestedIfOptional().getNestedParameterType()) {
+      return parameter;
+    }
+    Executable executable = parameter.getExecutable();
+    for (int i = 0; i < executable.getParameterCount(); i++) {
+      MethodParameter other =
+          MethodParameter.forExecutable(executable, i)
+              .withContainingClass(parameter.getContainingClass());
+      if (MultipartStream.class == other.nestedIfOptional().getNestedParameterType()) {
+        return other;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Fail if another argument of the handler reads request parameters or parts, which consumes the
+   * request body either before or after it is streamed.
+   */
+  private void checkOtherArguments(MethodParameter parameter) {
+    Executable executable = parameter.getExecutable();
+    for (int i = 0; i < executable.getParameterCount(); i++) {
+      if (i == parameter.getParameterIndex()) {
+        continue;
+      }
+      MethodParameter other = MethodParameter.forExecutable(executable, i);
+      if (readsRequestBody(other)) {
+        throw new MultipartException(
+            "Streaming "
+                + parameter
+                + " cannot be combined with "
+                + other
+                + ", which reads the request parameters or parts from the request body");
+      }
+    }
+  }
+
+  private static boolean readsRequestBody(MethodParameter parameter) {
+    if (isStreamingArgument(parameter)) {
+      return false;
+    }
+    if (parameter.hasParameterAnnotation(WebParam.class)
+        || parameter.hasParameterAnnotation(RequestParam.class)
+        || parameter.hasParameterAnnotation(RequestPart.class)
+        || parameter.hasParameterAnnotation(ModelAttribute.class)) {
+      return true;
+    }
+    MethodParameter nestedParameter = parameter.nestedIfOptional();
+    if (MultipartResolutionDelegate.isMultipartArgument(nestedParameter)) {
+      return true;
+    }
+    return !parameter.hasParameterAnnotations()
+        && BeanUtils.isSimpleProperty(nestedParameter.getNestedParameterType());
+  }
+
+  private Function<String, String> createNameConverter(MethodParameter parameter) {
+    NamingStrategy strategy = determineNamingStrategy(parameter);
+    if (strategy == null || NamingStrategy.NONE.equals(strategy)) {
+      return Function.identity();
+    }
+    NamingStrategyHandler handler = findNamingStrategyHandler(strategy);
+    return handler != null ? handler::convertNamingConvention : Function.identity();
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of a resolver, the counters are striped so that request threads never contend
+ * on a single cache line while recording them.
+ *
+ * @author esotericman
+ */
+public final class WebResolverStatistics {
+  private final LongAdder resolutions = new LongAdder();
+  private final LongAdder precomputedBindingPlans = new LongAdder();
+  private final LongAdder lazyBindingPlans = new LongAdder();
+  private final LongAdder missingValues = new LongAdder();
+  private volatile boolean enabled = true;
+
+  void recordResolution() {
+    if (enabled) {
+      resolutions.increment();
+    }
+  }
+
+  void recordPrecomputedBindingPlan() {
+    if (enabled) {
+      precomputedBindingPlans.increment();
+    }
+  }
+
+  void recordLazyBindingPlan() {
+    if (enabled) {
+      lazyBindingPlans.increment();
+    }
+  }
+
+  void recordMissingValue() {
+    if (enabled) {
+      missingValues.increment();
+    }
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Whether the statistics are being recorded.
+   *
+   * @return is it enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Number of resolved parameter values.
+   *
+   * @return resolutions
+   */
+  public long getResolutions() {
+    return resolutions.sum();
+  }
+
+  /**
+   * Number of handler parameters whose binding plan was taken from the precomputed binding plans.
+   * The plan is looked up only on the first resolution of a parameter, then it is cached along with
+   * the parameter, hence this counts parameters rather than requests.
+   *
+   * @return parameters with a precomputed binding plan
+   */
+  public long getPrecomputedBindingPlans() {
+    return precomputedBindingPlans.sum();
+  }
+
+  /**
+   * Number of handler parameters whose binding plan was built on their first resolution, since it
+   * was not precomputed.
+   *
+   * @return parameters with a binding plan built on first resolution
+   */
+  public long getLazyBindingPlans() {
+    return lazyBindingPlans.sum();
+  }
+
+  /**
+   * Share of the handler parameters resolved so far whose binding plan was precomputed. This tells
+   * whether precomputing the binding plans at startup covered the handlers, it is close to 1 when
+   * it is enabled and 0 otherwise, it is not a per-request cache hit ratio.
+   *
+   * @return ratio between 0 and 1
+   */
+  public double getPrecomputedBindingPlanRatio() {
+    long precomputed = getPrecomputedBindingPlans();
+    long total = precomputed + getLazyBindingPlans();
+    return total == 0 ? 0 : (double) precomputed / total;
+  }
+
+  /**
+   * Number of parameters missing from the request.
+   *
+   * @return missing values
+   */
+  public long getMissingValues() {
+    return missingValues.sum();
+  }
+}
@@ -17,6 +17,7 @@
 package org.flmelody.spring.web.standard.support;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.base.Converter;
 import org.flmelody.spring.web.standard.NamingStrategy;
 
 import java.util.regex.Pattern;
@@ -33,6 +34,17 @@ public class SnakeNamingStrategyHandler implements NamingStrategyHandler {
    * Upper camel pattern
    */
   protected static final Pattern UPPER_CAMEL = Pattern.compile("^[A-Z]+[a-zA-Z|0-9]*[a-z|0-9]+$");
+  /**
+   * Lower camel to snake converter, shared because {@link CaseFormat#converterTo} allocates a new
+   * instance on every call
+   */
+  protected static final Converter<String, String> LOWER_CAMEL_TO_SNAKE =
+      CaseFormat.LOWER_CAMEL.converterTo(CaseFormat.LOWER_UNDERSCORE);
+  /**
+   * Upper camel to snake converter
+   */
+  protected static final Converter<String, String> UPPER_CAMEL_TO_SNAKE =
+      CaseFormat.UPPER_CAMEL.converterTo(CaseFormat.LOWER_UNDERSCORE);
 
   @Override
   public boolean supportNamingStrategy(NamingStrategy namingStrategy) {
@@ -43,9 +55,9 @@ public class SnakeNamingStrategyHandler implements NamingStrategyHandler {
   public String convertNamingConvention(String value) {
     String result;
     if (LOWER_CAMEL.matcher(value).find()) {
-      result = CaseFormat.LOWER_CAMEL.converterTo(CaseFormat.LOWER_UNDERSCORE).convert(value);
+      result = LOWER_CAMEL_TO_SNAKE.convert(value);
     } else if (UPPER_CAMEL.matcher(value).find()) {
-      result = CaseFormat.UPPER_CAMEL.converterTo(CaseFormat.LOWER_UNDERSCORE).convert(value);
+      result = UPPER_CAMEL_TO_SNAKE.convert(value);
     } else {
       result = value;
     }
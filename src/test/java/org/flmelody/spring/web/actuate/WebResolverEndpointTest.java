@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.actuate;
+
+import org.flmelody.spring.web.actuate.WebResolverEndpoint.HandlerDescriptor;
+import org.flmelody.spring.web.actuate.WebResolverEndpoint.ParameterDescriptor;
+import org.flmelody.spring.web.actuate.WebResolverEndpoint.ResolverDescriptor;
+import org.flmelody.spring.web.actuate.WebResolverEndpoint.WebParamsDescriptor;
+import org.flmelody.spring.web.actuate.WebResolverEndpoint.WebResolverDescriptor;
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.configuration.WebResolverAutoConfiguration;
+import org.flmelody.spring.web.function.WebParams;
+import org.flmelody.spring.web.function.WebParamsFactory;
+import org.flmelody.spring.web.resolver.WebParamBinding;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests of the {@link WebResolverEndpoint} registered by the resolver configuration.
+ *
+ * @author esotericman
+ */
+class WebResolverEndpointTest {
+  private final WebApplicationContextRunner contextRunner =
+      new WebApplicationContextRunner()
+          .withConfiguration(
+              AutoConfigurations.of(
+                  WebMvcAutoConfiguration.class, WebResolverAutoConfiguration.class))
+          .withUserConfiguration(SampleController.class)
+          .withPropertyValues(
+              "flmelody.web-resolver.enabled=true",
+              "flmelody.web-resolver.param-naming-strategy=snake_case");
+
+  @Test
+  void registersEndpointWithActuator() {
+    contextRunner.run(context -> assertThat(context).hasSingleBean(WebResolverEndpoint.class));
+  }
+
+  @Test
+  void skipsEndpointWithoutActuator() {
+    contextRunner
+        .withClassLoader(new FilteredClassLoader(Endpoint.class))
+        .run(context -> assertThat(context).doesNotHaveBean(WebResolverEndpoint.class));
+  }
+
+  @Test
+  void describesConvertedNamesAndCounters() {
+    contextRunner.run(
+        context -> {
+          MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+          mockMvc.perform(get("/users").param("user_name", "bob")).andExpect(status().isOk());
+          WebParams params =
+              context.getBean(WebParamsFactory.class).create(NamingStrategy.SNAKE_CASE);
+          params.name("pageSize");
+          params.name("pageSize");
+
+          WebResolverDescriptor descriptor =
+              context.getBean(WebResolverEndpoint.class).webResolver();
+
+          ResolverDescriptor resolver =
+              descriptor.resolvers().stream()
+                  .filter(
+                      candidate -> candidate.beanName().equals("webParamMethodArgumentResolver"))
+                  .findFirst()
+                  .orElseThrow();
+          assertThat(resolver.namingStrategy()).isEqualTo(NamingStrategy.SNAKE_CASE);
+          assertThat(resolver.namingStrategyHandlers())
+              .containsExactly(SnakeNamingStrategyHandler.class.getName());
+          assertThat(resolver.statistics().getResolutions()).isEqualTo(1);
+          assertThat(resolver.statistics().getLazyBindingPlans()).isEqualTo(1);
+
+          HandlerDescriptor handler =
+              descriptor.handlers().stream()
+                  .filter(candidate -> candidate.handler().contains("SampleController#users"))
+                  .findFirst()
+                  .orElseThrow();
+          assertThat(handler.parameters())
+              .extracting(ParameterDescriptor::binding)
+              .containsExactly(
+                  new WebParamBinding(
+                      "userName",
+                      "user_name",
+                      NamingStrategy.SNAKE_CASE,
+                      SnakeNamingStrategyHandler.class.getName(),
+                      true));
+
+          assertThat(descriptor.webParams())
+              .containsExactly(
+                  new WebParamsDescriptor(
+                      "webParamsFactory",
+                      NamingStrategy.SNAKE_CASE,
+                      WebParams.DEFAULT_CACHE_LIMIT,
+                      1,
+                      1,
+                      1,
+                      0.5));
+        });
+  }
+
+  @RestController
+  static class SampleController {
+
+    @GetMapping("/users")
+    public String users(@WebParam String userName) {
+      return userName;
+    }
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.configuration;
+
+import org.flmelody.spring.web.annotation.EnableWebResolver;
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.function.WebParams;
+import org.flmelody.spring.web.function.WebParamsFactory;
+import org.flmelody.spring.web.resolver.WebParamMethodArgumentResolver;
+import org.flmelody.spring.web.resolver.WebResolverStatistics;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.assertj.AssertableWebApplicationContext;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the configuration properties applied by {@link WebResolverAutoConfiguration}.
+ *
+ * @author esotericman
+ */
+class WebResolverAutoConfigurationTest {
+  private final WebApplicationContextRunner contextRunner =
+      new WebApplicationContextRunner()
+          .withConfiguration(
+              AutoConfigurations.of(
+                  WebMvcAutoConfiguration.class, WebResolverAutoConfiguration.class))
+          .withUserConfiguration(SampleController.class)
+          .withPropertyValues("flmelody.web-resolver.enabled=true");
+
+  @Test
+  void doesNotApplyUnlessEnabled() {
+    contextRunner
+        .withPropertyValues("flmelody.web-resolver.enabled=false")
+        .run(context -> assertThat(context).doesNotHaveBean(WebParamMethodArgumentResolver.class));
+  }
+
+  @Test
+  void resolvesUnannotatedSimpleTypesByDefault() {
+    contextRunner.run(
+        context -> assertThat(resolver(context).supportsParameter(parameter("simple"))).isTrue());
+  }
+
+  @Test
+  void appliesUseDefaultResolution() {
+    contextRunner
+        .withPropertyValues("flmelody.web-resolver.use-default-resolution=false")
+        .run(
+            context -> {
+              assertThat(resolver(context).supportsParameter(parameter("simple"))).isFalse();
+              assertThat(resolver(context).supportsParameter(parameter("annotated"))).isTrue();
+            });
+  }
+
+  @Test
+  void strictModeAcceptsDefaultLowerCamelCase() {
+    contextRunner
+        .withPropertyValues(
+            "flmelody.web-resolver.lenient=false",
+            "flmelody.web-resolver.precompute-binding-plans=true")
+        .run(
+            context -> {
+              assertThat(context).hasNotFailed();
+              assertThat(resolve(context, "annotated", "userName", "bob")).isEqualTo("bob");
+            });
+  }
+
+  @Test
+  void appliesLenient() {
+    contextRunner
+        .withPropertyValues(
+            "flmelody.web-resolver.param-naming-strategy=upper_underscore",
+            "flmelody.web-resolver.lenient=false",
+            "flmelody.web-resolver.precompute-binding-plans=true")
+        .run(
+            context ->
+                assertThat(context)
+                    .getFailure()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("UPPER_UNDERSCORE"));
+  }
+
+  @Test
+  void fallsBackToParameterNameWhenLenient() {
+    contextRunner
+        .withPropertyValues(
+            "flmelody.web-resolver.param-naming-strategy=upper_underscore",
+            "flmelody.web-resolver.precompute-binding-plans=true")
+        .run(
+            context -> {
+              assertThat(context).hasNotFailed();
+              assertThat(resolve(context, "annotated", "userName", "bob")).isEqualTo("bob");
+            });
+  }
+
+  @Test
+  void appliesPrecomputeBindingPlans() {
+    contextRunner
+        .withPropertyValues(
+            "flmelody.web-resolver.param-naming-strategy=snake_case",
+            "flmelody.web-resolver.precompute-binding-plans=true")
+        .run(
+            context -> {
+              assertThat(resolve(context, "annotated", "user_name", "bob")).isEqualTo("bob");
+              WebResolverStatistics statistics = resolver(context).getStatistics();
+              assertThat(statistics.getPrecomputedBindingPlans()).isEqualTo(1);
+              assertThat(statistics.getLazyBindingPlans()).isZero();
+            });
+  }
+
+  @Test
+  void buildsBindingPlansOnFirstUseByDefault() {
+    contextRunner
+        .withPropertyValues("flmelody.web-resolver.param-naming-strategy=snake_case")
+        .run(
+            context -> {
+              assertThat(resolve(context, "annotated", "user_name", "bob")).isEqualTo("bob");
+              WebResolverStatistics statistics = resolver(context).getStatistics();
+              assertThat(statistics.getPrecomputedBindingPlans()).isZero();
+              assertThat(statistics.getLazyBindingPlans()).isEqualTo(1);
+            });
+  }
+
+  @Test
+  void recordsMetricsByDefault() {
+    contextRunner.run(
+        context -> {
+          resolve(context, "annotated", "userName", "bob");
+          assertThat(resolver(context).getStatistics().isEnabled()).isTrue();
+          assertThat(resolver(context).getStatistics().getResolutions()).isEqualTo(1);
+          WebParams params =
+              context.getBean(WebParamsFactory.class).create(NamingStrategy.SNAKE_CASE);
+          params.name("userName");
+          assertThat(params.getCacheMisses()).isEqualTo(1);
+        });
+  }
+
+  @Test
+  void appliesMetricsEnabled() {
+    contextRunner
+        .withPropertyValues("flmelody.web-resolver.metrics.enabled=false")
+        .run(
+            context -> {
+              resolve(context, "annotated", "userName", "bob");
+              assertThat(resolver(context).getStatistics().isEnabled()).isFalse();
+              assertThat(resolver(context).getStatistics().getResolutions()).isZero();
+              WebParams params =
+                  context.getBean(WebParamsFactory.class).create(NamingStrategy.SNAKE_CASE);
+              params.name("userName");
+              assertThat(params.getCacheMisses()).isZero();
+            });
+  }
+
+  @Test
+  void appliesCacheMaxNames() {
+    contextRunner
+        .withPropertyValues("flmelody.web-resolver.cache.max-names=1")
+        .run(
+            context -> {
+              WebParams params =
+                  context.getBean(WebParamsFactory.class).create(NamingStrategy.SNAKE_CASE);
+              assertThat(params.getCacheLimit()).isEqualTo(1);
+              params.name("userName");
+              params.name("pageSize");
+              assertThat(params.getCacheSize()).isEqualTo(1);
+              assertThat(params.name("pageSize")).isEqualTo("page_size");
+            });
+  }
+
+  @Test
+  void limitsCachedNamesByDefault() {
+    contextRunner.run(
+        context ->
+            assertThat(
+                    context
+                        .getBean(WebParamsFactory.class)
+                        .create(NamingStrategy.SNAKE_CASE)
+                        .getCacheLimit())
+                .isEqualTo(WebParams.DEFAULT_CACHE_LIMIT));
+  }
+
+  @Test
+  void failsOnConflictingEnableWebResolverStrategies() {
+    contextRunner
+        .withUserConfiguration(SnakeCaseConfiguration.class, LowerHyphenConfiguration.class)
+        .run(
+            context ->
+                assertThat(context)
+                    .getFailure()
+                    .hasStackTraceContaining("Conflicting naming strategies")
+                    .hasStackTraceContaining("flmelody.web-resolver.param-naming-strategy"));
+  }
+
+  @Test
+  void configuredStrategyResolvesConflictingEnableWebResolverStrategies() {
+    contextRunner
+        .withUserConfiguration(SnakeCaseConfiguration.class, LowerHyphenConfiguration.class)
+        .withPropertyValues("flmelody.web-resolver.param-naming-strategy=snake_case")
+        .run(
+            context ->
+                assertThat(resolver(context).getNamingStrategy())
+                    .isEqualTo(NamingStrategy.SNAKE_CASE));
+  }
+
+  @Test
+  void appliesMatchingEnableWebResolverStrategies() {
+    contextRunner
+        .withUserConfiguration(SnakeCaseConfiguration.class, OtherSnakeCaseConfiguration.class)
+        .run(
+            context ->
+                assertThat(resolver(context).getNamingStrategy())
+                    .isEqualTo(NamingStrategy.SNAKE_CASE));
+  }
+
+  private static WebParamMethodArgumentResolver resolver(AssertableWebApplicationContext context) {
+    return context.getBean("webParamMethodArgumentResolver", WebParamMethodArgumentResolver.class);
+  }
+
+  private static Object resolve(
+      AssertableWebApplicationContext context, String methodName, String name, String value)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addParameter(name, value);
+    return resolver(context)
+        .resolveArgument(
+            parameter(methodName),
+            new ModelAndViewContainer(),
+            new ServletWebRequest(request),
+            null);
+  }
+
+  private static MethodParameter parameter(String methodName) {
+    Method method = ReflectionUtils.findMethod(SampleController.class, methodName, String.class);
+    MethodParameter parameter =
+        new HandlerMethod(new SampleController(), method).getMethodParameters()[0];
+    parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+    return parameter;
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @EnableWebResolver(paramNamingStrategy = NamingStrategy.SNAKE_CASE)
+  static class SnakeCaseConfiguration {}
+
+  @Configuration(proxyBeanMethods = false)
+  @EnableWebResolver(paramNamingStrategy = NamingStrategy.SNAKE_CASE)
+  static class OtherSnakeCaseConfiguration {}
+
+  @Configuration(proxyBeanMethods = false)
+  @EnableWebResolver(paramNamingStrategy = NamingStrategy.LOWER_HYPHEN)
+  static class LowerHyphenConfiguration {}
+
+  @RestController
+  static class SampleController {
+
+    @GetMapping("/annotated")
+    public String annotated(@WebParam String userName) {
+      return userName;
+    }
+
+    @GetMapping("/simple")
+    public String simple(String userName) {
+      return userName;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.function;
+
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author esotericman
+ */
+class WebParamsFactoryTest {
+  private final WebParamsFactory factory =
+      new WebParamsFactory(List.of(new SnakeNamingStrategyHandler()));
+
+  @Test
+  void reportsCreatedAccessors() {
+    WebParams params = factory.create(NamingStrategy.SNAKE_CASE);
+
+    assertEquals(List.of(params), factory.getWebParams());
+  }
+
+  @Test
+  void releasesAccessorsNoLongerInUse() throws InterruptedException {
+    WebParams kept = factory.create(NamingStrategy.SNAKE_CASE);
+    for (int i = 0; i < 100; i++) {
+      factory.create(NamingStrategy.SNAKE_CASE);
+    }
+
+    for (int i = 0; i < 50 && factory.getWebParams().size() > 1; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertEquals(List.of(kept), factory.getWebParams());
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.function;
+
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author esotericman
+ */
+class WebParamsTest {
+  private final WebParams params = WebParams.of(NamingStrategy.SNAKE_CASE);
+
+  @Test
+  void convertsNamesWithNamingStrategy() {
+    assertEquals("page_size", params.name("pageSize"));
+    assertEquals("user_id", params.name("UserId"));
+    assertEquals("pageSize", WebParams.of(NamingStrategy.NONE).name("pageSize"));
+    assertEquals("pageSize", WebParams.of(NamingStrategy.LOWER_CAMEL_CASE).name("pageSize"));
+  }
+
+  @Test
+  void keepsNamesWithoutSuitableHandler() {
+    assertEquals("pageSize", WebParams.of(NamingStrategy.SNAKE_CASE, List.of()).name("pageSize"));
+  }
+
+  @Test
+  void readsParametersByConvertedName() {
+    ServerRequest request =
+        request("page_size", "20", "tag_name", "a", "tag_name", "b", "pageSize", "10");
+
+    assertEquals(Optional.of("20"), params.param(request, "pageSize"));
+    assertEquals(List.of("a", "b"), params.params(request, "tagName"));
+    assertEquals(List.of(), params.params(request, "missingName"));
+    assertEquals(20, params.getInt(request, "pageSize"));
+  }
+
+  @Test
+  void cachesConvertedNamesUpToTheLimit() {
+    WebParams snake =
+        WebParams.of(NamingStrategy.SNAKE_CASE, List.of(new SnakeNamingStrategyHandler()), 2);
+
+    assertEquals("page_size", snake.name("pageSize"));
+    assertEquals("page_size", snake.name("pageSize"));
+    assertEquals("user_id", snake.name("userId"));
+    assertEquals("tag_name", snake.name("tagName"));
+    assertEquals("tag_name", snake.name("tagName"));
+
+    assertEquals(2, snake.getCacheLimit());
+    assertEquals(2, snake.getCacheSize());
+    assertEquals(1, snake.getCacheHits());
+    assertEquals(4, snake.getCacheMisses());
+  }
+
+  @Test
+  void rejectsMissingRequiredParameters() {
+    ServerRequest request = request("page_size", "");
+
+    assertBadRequest(() -> params.getString(request, "pageSize"));
+    assertBadRequest(() -> params.getString(request, "userName"));
+    assertBadRequest(() -> params.getInt(request, "pageSize"));
+    assertBadRequest(() -> params.getLong(request, "pageSize"));
+    assertBadRequest(() -> params.getDouble(request, "pageSize"));
+    assertBadRequest(() -> params.getBoolean(request, "pageSize"));
+  }
+
+  @Test
+  void fallsBackToDefaultsWhenMissingOrEmpty() {
+    ServerRequest request = request("page_size", "");
+
+    assertEquals("none", params.getString(request, "pageSize", "none"));
+    assertEquals(10, params.getInt(request, "pageSize", 10));
+    assertEquals(10L, params.getLong(request, "pageNumber", 10L));
+    assertEquals(0.5, params.getDouble(request, "pageSize", 0.5));
+    assertTrue(params.getBoolean(request, "pageSize", true));
+  }
+
+  @Test
+  void rejectsMalformedValues() {
+    ServerRequest request = request("page_size", "ten", "enabled", "maybe");
+
+    assertBadRequest(() -> params.getInt(request, "pageSize"));
+    assertBadRequest(() -> params.getInt(request, "pageSize", 10));
+    assertBadRequest(() -> params.getLong(request, "pageSize"));
+    assertBadRequest(() -> params.getDouble(request, "pageSize", 0.5));
+    assertBadRequest(() -> params.getBoolean(request, "enabled"));
+    assertBadRequest(() -> params.getBoolean(request, "enabled", false));
+  }
+
+  @Test
+  void parsesTrimmedNumbers() {
+    ServerRequest request = request("page_size", " 20 ", "offset", "9000000000", "ratio", "0.25");
+
+    assertEquals(20, params.getInt(request, "pageSize"));
+    assertEquals(9000000000L, params.getLong(request, "offset"));
+    assertEquals(0.25, params.getDouble(request, "ratio"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"true", "TRUE", "on", "yes", "1", " Yes "})
+  void acceptsTrueLiterals(String value) {
+    assertTrue(params.getBoolean(request("enabled", value), "enabled"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"false", "FALSE", "off", "no", "0", " No "})
+  void acceptsFalseLiterals(String value) {
+    assertFalse(params.getBoolean(request("enabled", value), "enabled"));
+  }
+
+  private static void assertBadRequest(Runnable runnable) {
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class, runnable::run);
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+  }
+
+  private static ServerRequest request(String... nameValuePairs) {
+    MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+    for (int i = 0; i < nameValuePairs.length; i += 2) {
+      servletRequest.addParameter(nameValuePairs[i], nameValuePairs[i + 1]);
+    }
+    return ServerRequest.create(servletRequest, List.of());
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.multipart;
+
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author esotericman
+ */
+class MultipartStreamTest {
+  private static final String BOUNDARY = "boundary123";
+
+  @Test
+  void readsPartsAfterPreamble() throws IOException {
+    MultipartStream stream =
+        stream(
+            "This is the preamble.\r\nIt is ignored.\r\n"
+                + part("user_name", "bob")
+                + part("page_size", "20")
+                + close());
+
+    assertPart(stream.nextPart(), "user_name", "bob");
+    assertPart(stream.nextPart(), "page_size", "20");
+    assertNull(stream.nextPart());
+    assertNull(stream.nextPart());
+  }
+
+  @Test
+  void readsPartHeaders() throws IOException {
+    MultipartStream stream =
+        stream(
+            "--"
+                + BOUNDARY
+                + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"a.txt\""
+                + "\r\nContent-Type: text/plain\r\n\r\nhello\r\n"
+                + close());
+
+    StreamingPart part = stream.nextPart();
+    assertNotNull(part);
+    assertEquals("file", part.getName());
+    assertEquals("a.txt", part.getFilename());
+    assertEquals(MediaType.TEXT_PLAIN, part.getContentType());
+    assertEquals("hello", content(part));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 7, 8192})
+  void readsBodySplitIntoChunks(int chunkSize) throws IOException {
+    String large = "0123456789abcdef".repeat(1024) + "\r\n-";
+    String body = part("small", "x") + part("large", large) + part("empty", "") + close();
+    MultipartStream stream =
+        new MultipartStream(
+            new ChunkedInputStream(body.getBytes(StandardCharsets.ISO_8859_1), chunkSize),
+            BOUNDARY,
+            StandardCharsets.UTF_8,
+            MultipartStream.UNLIMITED,
+            MultipartStream.DEFAULT_MAX_HEADER_SIZE,
+            Function.identity());
+
+    assertPart(stream.nextPart(), "small", "x");
+    StreamingPart part = stream.nextPart();
+    assertNotNull(part);
+    assertEquals(large, contentByteByByte(part.getInputStream()));
+    assertPart(stream.nextPart(), "empty", "");
+    assertNull(stream.nextPart());
+  }
+
+  @Test
+  void keepsContentResemblingDelimiter() throws IOException {
+    String content = "a\r\n--boundary12\r\n--" + BOUNDARY.substring(0, 5) + "-\r\n--\r\nz";
+    MultipartStream stream = stream(part("text", content) + close());
+
+    assertPart(stream.nextPart(), "text", content);
+    assertNull(stream.nextPart());
+  }
+
+  @Test
+  void allowsTransportPadding() throws IOException {
+    MultipartStream stream =
+        stream(
+            "--"
+                + BOUNDARY
+                + " \t \r\nContent-Disposition: form-data; name=\"first\"\r\n\r\n1\r\n--"
+                + BOUNDARY
+                + "\t\r\nContent-Disposition: form-data; name=\"second\"\r\n\r\n2\r\n"
+                + close());
+
+    assertPart(stream.nextPart(), "first", "1");
+    assertPart(stream.nextPart(), "second", "2");
+    assertNull(stream.nextPart());
+  }
+
+  @Test
+  void failsOnTruncatedBody() throws IOException {
+    MultipartStream stream =
+        stream("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"\r\n\r\nabc");
+
+    StreamingPart part = stream.nextPart();
+    assertNotNull(part);
+    assertThrows(IOException.class, () -> content(part));
+  }
+
+  @Test
+  void failsOnTruncatedHeaders() {
+    MultipartStream stream =
+        stream("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"\r\n");
+
+    assertThrows(IOException.class, stream::nextPart);
+  }
+
+  @Test
+  void failsWhenHeaderSizeIsExceeded() {
+    String body =
+        "--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"file\"\r\nX-Padding: "
+            + "x".repeat(100)
+            + "\r\n\r\nabc\r\n"
+            + close();
+    MultipartStream stream = stream(body, MultipartStream.UNLIMITED, 64);
+
+    assertThrows(MaxUploadSizeExceededException.class, stream::nextPart);
+  }
+
+  @Test
+  void failsWhenPartSizeIsExceeded() throws IOException {
+    MultipartStream stream =
+        stream(
+            part("small", "1234") + part("large", "12345") + close(),
+            4,
+            MultipartStream.DEFAULT_MAX_HEADER_SIZE);
+
+    assertPart(stream.nextPart(), "small", "1234");
+    StreamingPart part = stream.nextPart();
+    assertNotNull(part);
+    assertThrows(MaxUploadSizeExceededException.class, () -> content(part));
+  }
+
+  @Test
+  void skipsOversizedPartsWithoutReadingThem() throws IOException {
+    MultipartStream stream =
+        stream(
+            part("large", "12345") + part("small", "1234") + close(),
+            4,
+            MultipartStream.DEFAULT_MAX_HEADER_SIZE);
+
+    assertNotNull(stream.nextPart());
+    assertPart(stream.nextPart(), "small", "1234");
+  }
+
+  @Test
+  void matchesPartNamesAfterNamingConversion() throws IOException {
+    SnakeNamingStrategyHandler handler = new SnakeNamingStrategyHandler();
+    String body =
+        part("fileContent", "camel")
+            + part("other", "skipped")
+            + part("file_content", "snake")
+            + part("page_size", "20")
+            + close();
+    MultipartStream stream =
+        new MultipartStream(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.ISO_8859_1)),
+            BOUNDARY,
+            StandardCharsets.UTF_8,
+            MultipartStream.UNLIMITED,
+            MultipartStream.DEFAULT_MAX_HEADER_SIZE,
+            handler::convertNamingConvention);
+
+    assertEquals("file_content", stream.name("fileContent"));
+    assertPart(stream.nextPart("fileContent"), "file_content", "snake");
+    assertPart(stream.nextPart("pageSize"), "page_size", "20");
+    assertNull(stream.nextPart("userName"));
+  }
+
+  @Test
+  void iteratesOverRemainingParts() throws IOException {
+    MultipartStream stream =
+        stream(part("first", "1") + part("second", "2") + part("third", "3") + close());
+    stream.nextPart();
+    List<String> names = new ArrayList<>();
+
+    stream.forEachPart(part -> names.add(part.getName()));
+
+    assertEquals(List.of("second", "third"), names);
+  }
+
+  private static void assertPart(StreamingPart part, String name, String content)
+      throws IOException {
+    assertNotNull(part);
+    assertEquals(name, part.getName());
+    assertEquals(content, content(part));
+  }
+
+  private static String content(StreamingPart part) throws IOException {
+    return new String(part.getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1);
+  }
+
+  private static String contentByteByByte(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    int b;
+    while ((b = inputStream.read()) != -1) {
+      content.write(b);
+    }
+    return content.toString(StandardCharsets.ISO_8859_1);
+  }
+
+  private static String part(String name, String content) {
+    return "--"
+        + BOUNDARY
+        + "\r\nContent-Disposition: form-data; name=\""
+        + name
+        + "\"\r\n\r\n"
+        + content
+        + "\r\n";
+  }
+
+  private static String close() {
+    return "--" + BOUNDARY + "--\r\nepilogue";
+  }
+
+  private static MultipartStream stream(String body) {
+    return stream(body, MultipartStream.UNLIMITED, MultipartStream.DEFAULT_MAX_HEADER_SIZE);
+  }
+
+  private static MultipartStream stream(String body, long maxPartSize, int maxHeaderSize) {
+    return new MultipartStream(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.ISO_8859_1)),
+        BOUNDARY,
+        StandardCharsets.UTF_8,
+        maxPartSize,
+        maxHeaderSize,
+        Function.identity());
+  }
+
+  /** Hands out at most a fixed number of bytes per read, like a slow network would. */
+  private static class ChunkedInputStream extends InputStream {
+    private final byte[] content;
+    private final int chunkSize;
+    private int position;
+
+    ChunkedInputStream(byte[] content, int chunkSize) {
+      this.content = content;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read() {
+      return position < content.length ? content[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(@NonNull byte[] b, int off, int len) {
+      if (position == content.length) {
+        return -1;
+      }
+      int count = Math.min(Math.min(len, chunkSize), content.length - position);
+      System.arraycopy(content, position, b, off, count);
+      position += count;
+      return count;
+    }
+  }
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.flmelody.spring.web.annotation.EnableWebResolver;
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.RequestParamMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+
+/**
+ * Allocation regression tests of the resolver hot path. Every {@code @WebParam} endpoint has a
+ * {@code @RequestParam} twin serving the same request, the bytes allocated per request by the
+ * former must stay within the budget in {@code allocation-budget.properties} relative to the
+ * latter, both through MockMvc and through the embedded Tomcat. As the rest of a request dwarfs
+ * the argument resolution, the resolvers are also compared on their own.
+ *
+ * <p>Tagged {@code allocation}, the suite runs with {@code gradle allocationTest} rather than
+ * {@code gradle test}.
+ *
+ * @author esotericman
+ */
+@Tag("allocation")
+@SpringBootTest(
+    classes = WebParamAllocationTest.AllocationTestApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class WebParamAllocationTest {
+  private static final int WARMUP_REQUESTS = 2000;
+  private static final int MEASURED_ROUNDS = 8;
+  private static final int REQUESTS_PER_ROUND = 250;
+  private static final int WARMUP_RESOLUTIONS = 20_000;
+  private static final int MEASURED_RESOLUTIONS = 100_000;
+  private static final int RESOLUTION_ROUNDS = 10;
+  private static final String BOUNDARY = "allocation-boundary";
+  private static final String PHASE_HEADER = "X-Allocation-Phase";
+  private static final Duration RECORDING_TIMEOUT = Duration.ofSeconds(10);
+  private static final AtomicInteger PHASES = new AtomicInteger();
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static Properties budgets;
+  private static double tolerance;
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private AllocationRecorder recorder;
+
+  @Autowired private ApplicationContext applicationContext;
+
+  @Autowired private ConfigurableListableBeanFactory beanFactory;
+
+  @Autowired private WebParamMethodArgumentResolver webParamMethodArgumentResolver;
+
+  @LocalServerPort private int port;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  @BeforeAll
+  static void loadBudgets() throws IOException {
+    assumeTrue(
+        THREAD_MX_BEAN.isThreadAllocatedMemorySupported(),
+        "Thread allocated memory is not supported by this JVM");
+    THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+    budgets =
+        PropertiesLoaderUtils.loadProperties(new ClassPathResource("allocation-budget.properties"));
+    String configured = System.getProperty("allocation.budget.tolerance");
+    if (configured == null) {
+      configured = System.getenv("ALLOCATION_BUDGET_TOLERANCE");
+    }
+    tolerance = configured != null ? Double.parseDouble(configured) : 1.0;
+  }
+
+  @Test
+  void snakeCaseThroughMockMvc() throws Exception {
+    assertWithinBudget(
+        "snake-case.mock-mvc",
+        mockMvc(
+            () -> get("/web/snake").param("user_name", "bob").param("page_size", "20")),
+        mockMvc(
+            () -> get("/request/snake").param("user_name", "bob").param("page_size", "20")));
+  }
+
+  @Test
+  void snakeCaseThroughTomcat() throws Exception {
+    assertWithinBudget(
+        "snake-case.tomcat",
+        tomcat(getRequest("/web/snake?user_name=bob&page_size=20")),
+        tomcat(getRequest("/request/snake?user_name=bob&page_size=20")));
+  }
+
+  @Test
+  void multipartThroughMockMvc() throws Exception {
+    assertWithinBudget(
+        "multipart.mock-mvc",
+        mockMvc(
+            () -> multipart("/web/multipart").file(fileContent()).params(multipartParams())),
+        mockMvc(
+            () ->
+                multipart("/request/multipart").file(fileContent()).params(multipartParams())));
+  }
+
+  @Test
+  void multipartThroughTomcat() throws Exception {
+    assertWithinBudget(
+        "multipart.tomcat",
+        tomcat(multipartRequest("/web/multipart")),
+        tomcat(multipartRequest("/request/multipart")));
+  }
+
+  @Test
+  void mapThroughMockMvc() throws Exception {
+    assertWithinBudget(
+        "map.mock-mvc",
+        mockMvc(
+            () -> get("/web/map").param("user_name", "bob").param("sort_order", "asc")),
+        mockMvc(
+            () -> get("/request/map").param("user_name", "bob").param("sort_order", "asc")));
+  }
+
+  @Test
+  void mapThroughTomcat() throws Exception {
+    assertWithinBudget(
+        "map.tomcat",
+        tomcat(getRequest("/web/map?user_name=bob&sort_order=asc")),
+        tomcat(getRequest("/request/map?user_name=bob&sort_order=asc")));
+  }
+
+  @Test
+  void missingParameterThroughMockMvc() throws Exception {
+    assertWithinBudget(
+        "missing-parameter.mock-mvc",
+        mockMvc(() -> get("/web/missing").param("user_name", "bob")),
+        mockMvc(() -> get("/request/missing").param("user_name", "bob")));
+  }
+
+  @Test
+  void missingParameterThroughTomcat() throws Exception {
+    assertWithinBudget(
+        "missing-parameter.tomcat",
+        tomcat(getRequest("/web/missing?user_name=bob")),
+        tomcat(getRequest("/request/missing?user_name=bob")));
+  }
+
+  @Test
+  void snakeCaseThroughResolver() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addParameter("user_name", "bob");
+    request.addParameter("page_size", "20");
+    ServletWebRequest webRequest = new ServletWebRequest(request);
+    assertRatioWithinBudget(
+        "snake-case.resolver",
+        measureResolver(
+            this.webParamMethodArgumentResolver,
+            parameters(WebParamController.class, "snake"),
+            webRequest),
+        measureResolver(
+            new RequestParamMethodArgumentResolver(this.beanFactory, false),
+            parameters(RequestParamController.class, "snake"),
+            webRequest));
+  }
+
+  /**
+   * Measures both endpoints in alternating rounds and keeps the round allocating the least of
+   * each, so that allocations unrelated to the request, such as a background task of the container,
+   * do not skew the ratio. Every round is tagged with a distinct phase, the container may record a
+   * request only after its response has been flushed to the client, so late records must not be
+   * counted in the following round.
+   */
+  private void assertWithinBudget(String scenario, Invocation webParam, Invocation requestParam)
+      throws Exception {
+    String phase = scenario + "-" + PHASES.incrementAndGet();
+    for (int i = 0; i < WARMUP_REQUESTS; i++) {
+      webParam.invoke("warmup-web-" + phase);
+      requestParam.invoke("warmup-request-" + phase);
+    }
+    Allocation fewestWebParam = null;
+    Allocation fewestRequestParam = null;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      fewestWebParam = fewest(fewestWebParam, measure(webParam, "web-" + phase + "-" + round));
+      fewestRequestParam =
+          fewest(fewestRequestParam, measure(requestParam, "request-" + phase + "-" + round));
+    }
+    assertRatioWithinBudget(scenario, fewestWebParam, fewestRequestParam);
+  }
+
+  private void assertRatioWithinBudget(
+      String scenario, Allocation webParam, Allocation requestParam) {
+    double budget = Double.parseDouble(budgets.getProperty(scenario)) * tolerance;
+    double ratio = (double) webParam.bytesPerRequest() / requestParam.bytesPerRequest();
+    assertTrue(
+        ratio <= budget,
+        () ->
+            String.format(
+                "%s: @WebParam allocates %d bytes per request, @RequestParam %d bytes, ratio %.3f"
+                    + " exceeds the budget %.3f",
+                scenario,
+                webParam.bytesPerRequest(),
+                requestParam.bytesPerRequest(),
+                ratio,
+                budget));
+  }
+
+  private Allocation measure(Invocation invocation, String phase) throws Exception {
+    for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+      invocation.invoke(phase);
+    }
+    return this.recorder.await(phase, REQUESTS_PER_ROUND);
+  }
+
+  private static Allocation fewest(@Nullable Allocation fewest, Allocation allocation) {
+    return fewest == null || allocation.bytes() < fewest.bytes() ? allocation : fewest;
+  }
+
+  private Invocation mockMvc(Supplier<MockHttpServletRequestBuilder> requestBuilder) {
+    return phase -> this.mockMvc.perform(requestBuilder.get().header(PHASE_HEADER, phase));
+  }
+
+  private Invocation tomcat(HttpRequest request) {
+    return phase -> {
+      HttpRequest phasedRequest =
+          HttpRequest.newBuilder(request, (name, value) -> true)
+              .header(PHASE_HEADER, phase)
+              .build();
+      HttpResponse<Void> response =
+          this.httpClient.send(phasedRequest, HttpResponse.BodyHandlers.discarding());
+      assertTrue(response.statusCode() < 500, () -> request + " failed: " + response);
+    };
+  }
+
+  /**
+   * Measures the argument resolution alone on the calling thread, which leaves out the servlet
+   * container and the rest of the dispatching that dominate the bytes allocated per request. The
+   * round allocating the least is kept, as earlier rounds may still run code that is not fully
+   * compiled yet.
+   */
+  private static Allocation measureResolver(
+      HandlerMethodArgumentResolver resolver,
+      MethodParameter[] parameters,
+      NativeWebRequest webRequest)
+      throws Exception {
+    ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+    for (int i = 0; i < WARMUP_RESOLUTIONS; i++) {
+      resolve(resolver, parameters, mavContainer, webRequest);
+    }
+    long threadId = Thread.currentThread().getId();
+    long fewestBytes = Long.MAX_VALUE;
+    for (int round = 0; round < RESOLUTION_ROUNDS; round++) {
+      long start = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < MEASURED_RESOLUTIONS; i++) {
+        resolve(resolver, parameters, mavContainer, webRequest);
+      }
+      fewestBytes =
+          Math.min(fewestBytes, THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - start);
+    }
+    return new Allocation(fewestBytes, MEASURED_RESOLUTIONS);
+  }
+
+  private static void resolve(
+      HandlerMethodArgumentResolver resolver,
+      MethodParameter[] parameters,
+      ModelAndViewContainer mavContainer,
+      NativeWebRequest webRequest)
+      throws Exception {
+    for (MethodParameter parameter : parameters) {
+      resolver.resolveArgument(parameter, mavContainer, webRequest, null);
+    }
+  }
+
+  private MethodParameter[] parameters(Class<?> controllerType, String methodName) {
+    Object controller = this.applicationContext.getBean(controllerType);
+    Method method =
+        Arrays.stream(controllerType.getDeclaredMethods())
+            .filter(candidate -> candidate.getName().equals(methodName))
+            .findFirst()
+            .orElseThrow();
+    MethodParameter[] parameters = new HandlerMethod(controller, method).getMethodParameters();
+    for (MethodParameter parameter : parameters) {
+      parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+    }
+    return parameters;
+  }
+
+  private HttpRequest getRequest(String pathAndQuery) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + pathAndQuery))
+        .GET()
+        .build();
+  }
+
+  private HttpRequest multipartRequest(String path) {
+    String body =
+        "--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"user_name\"\r\n\r\nbob\r\n--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"file_comment\"\r\n\r\nnone\r\n--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"file_content\"; filename=\"a.txt\""
+            + "\r\nContent-Type: text/plain\r\n\r\nhello allocation\r\n--"
+            + BOUNDARY
+            + "--\r\n";
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + path))
+        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.US_ASCII))
+        .build();
+  }
+
+  private static MultiValueMap<String, String> multipartParams() {
+    MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+    params.add("user_name", "bob");
+    params.add("file_comment", "none");
+    return params;
+  }
+
+  private static MockMultipartFile fileContent() {
+    return new MockMultipartFile(
+        "file_content",
+        "a.txt",
+        "text/plain",
+        "hello allocation".getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @FunctionalInterface
+  private interface Invocation {
+    void invoke(String phase) throws Exception;
+  }
+
+  record Allocation(long bytes, long requests) {
+    long bytesPerRequest() {
+      return this.bytes / this.requests;
+    }
+  }
+
+  /**
+   * Records the bytes allocated by the request thread while the request passes through the filter
+   * chain, which covers both MockMvc running on the calling thread and the Tomcat worker threads.
+   * Requests are recorded per phase header, requests without one are ignored.
+   */
+  static class AllocationRecorder {
+    private final Map<String, LongAdder[]> allocations = new ConcurrentHashMap<>();
+
+    Filter filter() {
+      return (request, response, chain) -> {
+        String phase = ((HttpServletRequest) request).getHeader(PHASE_HEADER);
+        if (phase == null) {
+          chain.doFilter(request, response);
+          return;
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        chain.doFilter(request, response);
+        long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - start;
+        LongAdder[] adders =
+            this.allocations.computeIfAbsent(
+                phase, key -> new LongAdder[] {new LongAdder(), new LongAdder()});
+        adders[0].add(allocated);
+        adders[1].increment();
+      };
+    }
+
+    /** Waits until the given number of requests of the phase has been recorded. */
+    Allocation await(String phase, int requests) throws InterruptedException {
+      long deadline = System.nanoTime() + RECORDING_TIMEOUT.toNanos();
+      while (true) {
+        LongAdder[] adders = this.allocations.get(phase);
+        long recorded = adders != null ? adders[1].sum() : 0;
+        if (recorded >= requests || System.nanoTime() > deadline) {
+          assertEquals(requests, recorded, () -> "Unexpected requests of phase " + phase);
+          return new Allocation(adders[0].sum(), recorded);
+        }
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  @SpringBootConfiguration
+  @EnableAutoConfiguration
+  @EnableWebResolver(paramNamingStrategy = NamingStrategy.SNAKE_CASE)
+  @Import({WebParamController.class, RequestParamController.class})
+  static class AllocationTestApplication {
+
+    @Bean
+    AllocationRecorder allocationRecorder() {
+      return new AllocationRecorder();
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    Filter allocationRecordingFilter(AllocationRecorder allocationRecorder) {
+      return allocationRecorder.filter();
+    }
+  }
+
+  @RestController
+  static class WebParamController {
+
+    @GetMapping("/web/snake")
+    String snake(@WebParam String userName, @WebParam Integer pageSize) {
+      return userName + pageSize;
+    }
+
+    @PostMapping("/web/multipart")
+    long multipart(
+        @WebParam String userName,
+        @WebParam String fileComment,
+        @RequestPart("file_content") MultipartFile fileContent) {
+      return userName.length() + fileComment.length() + fileContent.getSize();
+    }
+
+    @GetMapping("/web/map")
+    int map(@WebParam String userName, @RequestParam Map<String, String> params) {
+      return userName.length() + params.size();
+    }
+
+    @GetMapping("/web/missing")
+    String missing(@WebParam String userName, @WebParam Integer pageSize) {
+      return userName + pageSize;
+    }
+  }
+
+  @RestController
+  static class RequestParamController {
+
+    @GetMapping("/request/snake")
+    String snake(
+        @RequestParam("user_name") String userName, @RequestParam("page_size") Integer pageSize) {
+      return userName + pageSize;
+    }
+
+    @PostMapping("/request/multipart")
+    long multipart(
+        @RequestParam("user_name") String userName,
+        @RequestParam("file_comment") String fileComment,
+        @RequestPart("file_content") MultipartFile fileContent) {
+      return userName.length() + fileComment.length() + fileContent.getSize();
+    }
+
+    @GetMapping("/request/map")
+    int map(@RequestParam("user_name") String userName, @RequestParam Map<String, String> params) {
+      return userName.length() + params.size();
+    }
+
+    @GetMapping("/request/missing")
+    String missing(
+        @RequestParam("user_name") String userName, @RequestParam("page_size") Integer pageSize) {
+      return userName + pageSize;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import com.google.common.base.CaseFormat;
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.resolver.precedence.NoneTypeController;
+import org.flmelody.spring.web.resolver.precedence.PackageController;
+import org.flmelody.spring.web.resolver.precedence.SubTypeController;
+import org.flmelody.spring.web.resolver.precedence.TypeController;
+import org.flmelody.spring.web.resolver.precedence.none.NonePackageController;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.NamingStrategyHandler;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the naming strategy precedence: parameter, type including super types, package and
+ * global level.
+ *
+ * @author esotericman
+ */
+class WebParamMethodArgumentResolverTest {
+  private WebParamMethodArgumentResolver resolver;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    resolver = createResolver(NamingStrategy.UPPER_CAMEL_CASE);
+  }
+
+  @Test
+  void parameterLevelWinsOverPackageLevel() {
+    assertEquals("user_name", bindingName(new PackageController(), "parameterLevel"));
+  }
+
+  @Test
+  void parameterLevelWinsOverTypeLevel() {
+    assertEquals("user_name", bindingName(new TypeController(), "parameterLevel"));
+  }
+
+  @Test
+  void typeLevelWinsOverPackageLevel() {
+    assertEquals("USER_NAME", bindingName(new TypeController(), "typeLevel"));
+  }
+
+  @Test
+  void superTypeLevelWinsOverPackageLevel() {
+    assertEquals("USER_NAME", bindingName(new SubTypeController(), "superTypeLevel"));
+  }
+
+  @Test
+  void packageLevelWinsOverGlobalLevel() {
+    assertEquals("user-name", bindingName(new PackageController(), "packageLevel"));
+  }
+
+  @Test
+  void globalLevelAppliesWithoutAnyOtherLevel() {
+    assertEquals("UserName", bindingName(new GlobalController(), "globalLevel"));
+  }
+
+  @Test
+  void parameterNoneFallsThroughToTypeLevel() {
+    assertEquals("USER_NAME", bindingName(new TypeController(), "parameterNone"));
+  }
+
+  @Test
+  void typeNoneFallsThroughToPackageLevel() {
+    assertEquals("user-name", bindingName(new NoneTypeController(), "typeNone"));
+  }
+
+  @Test
+  void packageNoneFallsThroughToGlobalLevel() {
+    assertEquals("UserName", bindingName(new NonePackageController(), "packageNone"));
+  }
+
+  @Test
+  void globalNoneKeepsParameterName() throws Exception {
+    resolver = createResolver(NamingStrategy.NONE);
+    assertEquals("userName", bindingName(new GlobalController(), "globalLevel"));
+  }
+
+  @Test
+  void explicitNameBypassesConversion() {
+    assertEquals("login", bindingName(new PackageController(), "explicitName"));
+    assertEquals("login", bindingName(new PackageController(), "explicitValue"));
+    assertEquals("login", bindingName(new TypeController(), "explicitName"));
+  }
+
+  @Test
+  void resolvesArgumentByConvertedName() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addParameter("userName", "camel");
+    request.addParameter("user-name", "hyphen");
+    request.addParameter("USER_NAME", "underscore");
+
+    assertEquals("hyphen", resolve(new PackageController(), "packageLevel", request));
+    assertEquals("underscore", resolve(new SubTypeController(), "superTypeLevel", request));
+  }
+
+  private WebParamMethodArgumentResolver createResolver(NamingStrategy namingStrategy)
+      throws Exception {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("snakeNamingStrategyHandler", new SnakeNamingStrategyHandler());
+    beanFactory.registerSingleton(
+        "lowerHyphenNamingStrategyHandler",
+        new CaseFormatNamingStrategyHandler(NamingStrategy.LOWER_HYPHEN, CaseFormat.LOWER_HYPHEN));
+    beanFactory.registerSingleton(
+        "upperUnderscoreNamingStrategyHandler",
+        new CaseFormatNamingStrategyHandler(
+            NamingStrategy.UPPER_UNDERSCORE, CaseFormat.UPPER_UNDERSCORE));
+    beanFactory.registerSingleton(
+        "upperCamelNamingStrategyHandler",
+        new CaseFormatNamingStrategyHandler(NamingStrategy.UPPER_CAMEL_CASE, CaseFormat.UPPER_CAMEL));
+    WebParamMethodArgumentResolver resolver =
+        new WebParamMethodArgumentResolver(namingStrategy, beanFactory, true);
+    resolver.afterPropertiesSet();
+    return resolver;
+  }
+
+  private String bindingName(Object controller, String methodName) {
+    return resolver.describeParameter(parameter(controller, methodName)).name();
+  }
+
+  private Object resolve(Object controller, String methodName, MockHttpServletRequest request)
+      throws Exception {
+    return resolver.resolveArgument(
+        parameter(controller, methodName),
+        new ModelAndViewContainer(),
+        new ServletWebRequest(request),
+        null);
+  }
+
+  private static MethodParameter parameter(Object controller, String methodName) {
+    Method method =
+        Arrays.stream(ReflectionUtils.getAllDeclaredMethods(controller.getClass()))
+            .filter(candidate -> candidate.getName().equals(methodName))
+            .findFirst()
+            .orElseThrow();
+    MethodParameter parameter = new HandlerMethod(controller, method).getMethodParameters()[0];
+    parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+    return parameter;
+  }
+
+  static class GlobalController {
+
+    public void globalLevel(@WebParam String userName) {}
+  }
+
+  static class CaseFormatNamingStrategyHandler implements NamingStrategyHandler {
+    private final NamingStrategy namingStrategy;
+    private final CaseFormat caseFormat;
+
+    CaseFormatNamingStrategyHandler(NamingStrategy namingStrategy, CaseFormat caseFormat) {
+      this.namingStrategy = namingStrategy;
+      this.caseFormat = caseFormat;
+    }
+
+    @Override
+    public boolean supportNamingStrategy(NamingStrategy namingStrategy) {
+      return this.namingStrategy.equals(namingStrategy);
+    }
+
+    @Override
+    public String convertNamingConvention(String value) {
+      return CaseFormat.LOWER_CAMEL.to(this.caseFormat, value);
+    }
+  }
+}
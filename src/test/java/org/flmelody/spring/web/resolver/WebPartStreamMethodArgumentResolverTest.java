@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.multipart.MultipartStream;
+import org.flmelody.spring.web.multipart.StreamingPart;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.flmelody.spring.web.standard.support.SnakeNamingStrategyHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author esotericman
+ */
+class WebPartStreamMethodArgumentResolverTest {
+  private static final String BOUNDARY = "boundary123";
+
+  private WebPartStreamMethodArgumentResolver resolver;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("snakeNamingStrategyHandler", new SnakeNamingStrategyHandler());
+    resolver = new WebPartStreamMethodArgumentResolver(NamingStrategy.SNAKE_CASE, beanFactory);
+    resolver.afterPropertiesSet();
+  }
+
+  @Test
+  void bindsPartByConvertedName() throws Exception {
+    Object part = resolve("upload", multipartRequest());
+
+    StreamingPart streamingPart = assertInstanceOf(StreamingPart.class, part);
+    assertEquals("file_content", streamingPart.getName());
+    assertEquals(
+        "content",
+        new String(streamingPart.getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  void convertsStreamNamesWithStrategyOfStreamParameter() throws Exception {
+    MockHttpServletRequest request = multipartRequest();
+    StreamingPart other =
+        assertInstanceOf(StreamingPart.class, resolve("withStream", 0, request));
+    MultipartStream rest =
+        assertInstanceOf(MultipartStream.class, resolve("withStream", 1, request));
+
+    assertEquals("other", other.getName());
+    assertEquals("file_content", rest.name("fileContent"));
+    assertEquals("file_content", rest.nextPart("fileContent").getName());
+  }
+
+  @Test
+  void describesPartByConvertedName() {
+    WebParamBinding binding = resolver.describeParameter(parameter("upload"));
+
+    assertEquals("fileContent", binding.parameterName());
+    assertEquals("file_content", binding.name());
+    assertEquals(NamingStrategy.SNAKE_CASE, binding.namingStrategy());
+  }
+
+  @Test
+  void allowsArgumentsNotReadingTheBody() throws Exception {
+    assertInstanceOf(StreamingPart.class, resolve("withRequest", multipartRequest()));
+  }
+
+  @Test
+  void rejectsArgumentsReadingRequestParameters() {
+    assertThrows(MultipartException.class, () -> resolve("withWebParam", multipartRequest()));
+    assertThrows(MultipartException.class, () -> resolve("withSimpleType", multipartRequest()));
+  }
+
+  @Test
+  void rejectsArgumentsReadingParts() {
+    assertThrows(MultipartException.class, () -> resolve("withMultipartFile", multipartRequest()));
+  }
+
+  private Object resolve(String methodName, MockHttpServletRequest request) throws Exception {
+    return resolve(methodName, 0, request);
+  }
+
+  private Object resolve(String methodName, int parameterIndex, MockHttpServletRequest request)
+      throws Exception {
+    return resolver.resolveArgument(
+        parameter(methodName, parameterIndex),
+        new ModelAndViewContainer(),
+        new ServletWebRequest(request),
+        null);
+  }
+
+  private static MethodParameter parameter(String methodName) {
+    return parameter(methodName, 0);
+  }
+
+  private static MethodParameter parameter(String methodName, int parameterIndex) {
+    Method method =
+        Arrays.stream(ReflectionUtils.getAllDeclaredMethods(UploadController.class))
+            .filter(candidate -> candidate.getName().equals(methodName))
+            .findFirst()
+            .orElseThrow();
+    MethodParameter parameter =
+        new HandlerMethod(new UploadController(), method).getMethodParameters()[parameterIndex];
+    parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+    return parameter;
+  }
+
+  private static MockHttpServletRequest multipartRequest() {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+    request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+    request.setContent(
+        ("--"
+                + BOUNDARY
+                + "\r\nContent-Disposition: form-data; name=\"other\"\r\n\r\nskipped\r\n--"
+                + BOUNDARY
+                + "\r\nContent-Disposition: form-data; name=\"file_content\"\r\n\r\ncontent\r\n--"
+                + BOUNDARY
+                + "--\r\n")
+            .getBytes(StandardCharsets.ISO_8859_1));
+    return request;
+  }
+
+  static class UploadController {
+
+    public void upload(StreamingPart fileContent) {}
+
+    public void withRequest(
+        StreamingPart fileContent, HttpServletRequest request, @PathVariable String id) {}
+
+    public void withWebParam(StreamingPart fileContent, @WebParam String userName) {}
+
+    public void withSimpleType(StreamingPart fileContent, String userName) {}
+
+    public void withMultipartFile(StreamingPart fileContent, MultipartFile attachment) {}
+
+    public void withStream(
+        @WebParam(namingStrategy = NamingStrategy.LOWER_CAMEL_CASE) StreamingPart other,
+        MultipartStream rest) {}
+  }
+}
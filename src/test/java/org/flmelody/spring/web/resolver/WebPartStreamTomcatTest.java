@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver;
+
+import org.flmelody.spring.web.annotation.EnableWebResolver;
+import org.flmelody.spring.web.multipart.StreamingPart;
+import org.flmelody.spring.web.standard.NamingStrategy;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of streamed multipart requests through the embedded Tomcat, with the multipart resolver
+ * parsing requests lazily or upfront.
+ *
+ * @author esotericman
+ */
+class WebPartStreamTomcatTest {
+  private static final String BOUNDARY = "boundary123";
+
+  private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+  @Nested
+  @SpringBootTest(
+      classes = StreamingApplication.class,
+      webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+      properties = "spring.servlet.multipart.resolve-lazily=true")
+  class ResolvingLazily {
+
+    @LocalServerPort private int port;
+
+    @Test
+    void streamsPartByConvertedName() throws Exception {
+      HttpResponse<String> response = upload(this.port);
+
+      assertEquals(HttpStatus.OK.value(), response.statusCode());
+      assertEquals("file_content:content", response.body());
+    }
+  }
+
+  @Nested
+  @SpringBootTest(
+      classes = StreamingApplication.class,
+      webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+  class ResolvingUpfront {
+
+    @LocalServerPort private int port;
+
+    @Test
+    void failsNamingTheLazyResolutionSetting() throws Exception {
+      HttpResponse<String> response = upload(this.port);
+
+      assertEquals(HttpStatus.BAD_REQUEST.value(), response.statusCode());
+      assertTrue(
+          response.body().contains("spring.servlet.multipart.resolve-lazily=true"),
+          response::body);
+    }
+  }
+
+  private static HttpResponse<String> upload(int port) throws Exception {
+    String body =
+        "--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"other\"\r\n\r\nskipped\r\n--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"file_content\"; filename=\"a.txt\""
+            + "\r\nContent-Type: text/plain\r\n\r\ncontent\r\n--"
+            + BOUNDARY
+            + "--\r\n";
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/upload"))
+            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.US_ASCII))
+            .build();
+    return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  @SpringBootConfiguration
+  @EnableAutoConfiguration
+  @EnableWebResolver(paramNamingStrategy = NamingStrategy.SNAKE_CASE)
+  @Import(UploadController.class)
+  static class StreamingApplication {}
+
+  @RestController
+  static class UploadController {
+
+    @PostMapping("/upload")
+    String upload(StreamingPart fileContent) throws IOException {
+      return fileContent.getName()
+          + ":"
+          + new String(fileContent.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @ExceptionHandler(MultipartException.class)
+    ResponseEntity<String> handleMultipartException(MultipartException exception) {
+      return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flmelody.spring.web.resolver.precedence;
+
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.standard.NamingStrategy;
+
+/**
+ * @author esotericman
+ */
+public class PackageController {
+
+  public void packageLevel(@WebParam String userName) {}
+
+  public void parameterLevel(
+      @WebParam(namingStrategy = NamingStrategy.SNAKE_CASE) String userName) {}
+
+  public void explicitName(
+      @WebParam(name = "login", namingStrategy = NamingStrategy.SNAKE_CASE) String userName) {}
+
+  public void explicitValue(@WebParam("login") String userName) {}
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) 2024 Flmelody.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/** Controllers converting to lower-hyphen by default, declared on the package. */
+@WebParam(namingStrategy = NamingStrategy.LOWER_HYPHEN)
+package org.flmelody.spring.web.resolver.precedence;
+
+import org.flmelody.spring.web.annotation.WebParam;
+import org.flmelody.spring.web.standard.NamingStrategy;